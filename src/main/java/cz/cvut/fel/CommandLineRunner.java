@@ -1,23 +1,45 @@
 package cz.cvut.fel;
 
 import cz.cvut.fel.grading.AssignmentGrader;
+import cz.cvut.fel.grading.BatchGrader;
+import cz.cvut.fel.grading.SubmissionResult;
+import cz.cvut.fel.exception.ConfigurationException;
+import cz.cvut.fel.grading.checker.DefectChecker;
+import cz.cvut.fel.grading.configuration.GradingPlan;
+import cz.cvut.fel.grading.configuration.GradingPlanCache;
+import cz.cvut.fel.grading.struct.CheckCost;
 import cz.cvut.fel.model.Diagram;
+import cz.cvut.fel.output.BatchOutputFormatter;
 import cz.cvut.fel.output.CorrectorOutputFormatter;
 import cz.cvut.fel.output.DiagramOutputFormatter;
+import cz.cvut.fel.parser.DiagramPage;
+import cz.cvut.fel.parser.PageSelector;
 import cz.cvut.fel.parser.XMLValidator;
-import cz.cvut.fel.utils.ConfigLoader;
+import cz.cvut.fel.server.GradingServer;
 import org.apache.commons.cli.*;
 import lombok.extern.java.Log;
-import org.xml.sax.SAXException;
 
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 
 /**
  * CommandLineRunner is a starter class for the project and serves as a CLI.
+ * Run with "serve" as the first argument to start the HTTP grading service instead.
  * @author Adam Skarda
  */
 @Log
@@ -28,32 +50,92 @@ public class CommandLineRunner {
     private static final HelpFormatter formatter = new HelpFormatter();
 
     public static void main(String[] args) {
+        if(args.length > 0 && args[0].equals("serve")){
+            GradingServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
         Option diagramFile = new Option("d", "diagram", true, "diagram file path");
-        diagramFile.setRequired(true);
-        options.addOption(diagramFile);
+        Option batch = new Option("b", "batch", true,
+                "grade submissions in a directory or ZIP archive, matching a glob pattern or listed in an @file");
+        OptionGroup input = new OptionGroup();
+        input.addOption(diagramFile);
+        input.addOption(batch);
+        input.setRequired(true);
+        options.addOptionGroup(input);
 
         Option config = new Option("c", "configuration", true, "configuration file path");
         config.setRequired(true);
         options.addOption(config);
 
+        Option page = new Option("p", "page", true,
+                "name or index of the graded diagram page, prefixed by name: or index: to be explicit, first page by default");
+        options.addOption(page);
+
+        Option allPages = new Option("a", "all-pages", false, "grade every diagram page separately");
+        options.addOption(allPages);
+
+        Option parallel = new Option("j", "parallel-checks", false, "run defect checks concurrently");
+        options.addOption(parallel);
+
+        Option checkCosts = new Option(null, "check-costs", false,
+                "print wall time and allocations of every defect check to standard error");
+        options.addOption(checkCosts);
+
+        Option threads = new Option("t", "threads", true,
+                "number of submissions graded at once in batch mode, number of processors by default");
+        options.addOption(threads);
+
+        Option output = new Option("o", "output", true, "batch result file, standard output by default");
+        options.addOption(output);
 
         try{
             CommandLine cmd = parser.parse(options, args);
-            InputStream xmlFile = new FileInputStream(cmd.getOptionValue(diagramFile));
-            XMLValidator xml = new XMLValidator(xmlFile);
 
-            //Parses a diagram out of the xml file
-            Diagram diagram = xml.extractDiagram();
-            System.out.println(DiagramOutputFormatter.stringifyDiagram(diagram));
+            //Selects graded pages
+            PageSelector selector = PageSelector.byIndex(0);
+            if(cmd.hasOption(allPages)){
+                selector = PageSelector.all();
+            }
+            else if(cmd.hasOption(page)){
+                selector = PageSelector.parse(cmd.getOptionValue(page));
+            }
 
             //Loads user configuration
-            ConfigLoader loader = new ConfigLoader();
-            loader.load(cmd.getOptionValue(config));
+            GradingPlan plan = GradingPlanCache.get(Path.of(cmd.getOptionValue(config)));
 
-            //Grades the diagram
-            AssignmentGrader grader = new AssignmentGrader(loader.getProperties(), diagram);
-            grader.grade();
-            System.out.println(CorrectorOutputFormatter.stringifyGrading(grader));
+            if(cmd.hasOption(batch)){
+                int threadCount = cmd.hasOption(threads) ? Integer.parseInt(cmd.getOptionValue(threads))
+                        : Runtime.getRuntime().availableProcessors();
+                int failed = gradeBatch(new BatchGrader(plan, selector, threadCount),
+                        cmd.getOptionValue(batch), cmd.getOptionValue(output));
+                System.exit(failed == 0 ? 0 : 2);
+            }
+
+            //Parses diagrams out of the xml file
+            InputStream xmlFile = new FileInputStream(cmd.getOptionValue(diagramFile));
+            XMLValidator xml = new XMLValidator(xmlFile);
+            List<DiagramPage> pages = xml.extractPages(selector);
+            if(pages.isEmpty()){
+                throw new IOException("Diagram page not found");
+            }
+
+            for(DiagramPage diagramPage : pages){
+                if(pages.size() > 1){
+                    System.out.println(diagramPage);
+                }
+                Diagram diagram = diagramPage.getDiagram();
+                System.out.println(DiagramOutputFormatter.stringifyDiagram(diagram));
+
+                //Grades the diagram
+                AssignmentGrader grader = new AssignmentGrader(plan, diagram,
+                        cmd.hasOption(parallel) ? ForkJoinPool.commonPool() : null);
+                grader.grade();
+                System.out.println(CorrectorOutputFormatter.stringifyGrading(grader));
+                if(cmd.hasOption(checkCosts)){
+                    printCheckCosts(grader.getDefectChecker());
+                }
+            }
 
             //Creates relational schema from diagram
 
@@ -63,11 +145,62 @@ public class CommandLineRunner {
 
 
         }
-        catch(ParseException | IOException | SAXException | ParserConfigurationException ex){
+        catch(ParseException | IOException | XMLStreamException | ConfigurationException | IllegalArgumentException ex){
             log.log(Level.SEVERE, "Failed to start", ex);
             formatter.printHelp("ErCorrector", options);
             System.exit(1);
         }
     }
 
+    /**
+     * Grades submissions and writes one CSV row per graded page as soon as it is graded
+     * @param grader batch grader
+     * @param source directory, ZIP archive, glob pattern or '@' prefixed list file of submissions
+     * @param outputFile result file, null for standard output
+     * @return number of failed submissions
+     * @throws IOException when the submissions cannot be found or the result file cannot be written
+     */
+    private static int gradeBatch(BatchGrader grader, String source, String outputFile) throws IOException{
+        boolean archive = BatchGrader.isArchive(source);
+        List<Path> submissions = archive ? List.of() : BatchGrader.findSubmissions(source);
+        long start = System.nanoTime();
+        PrintWriter writer = Objects.isNull(outputFile)
+                ? new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                : new PrintWriter(Files.newBufferedWriter(Path.of(outputFile), StandardCharsets.UTF_8));
+        int failed;
+        try{
+            writer.println(BatchOutputFormatter.header());
+            Consumer<SubmissionResult> rows = result -> {
+                writer.println(BatchOutputFormatter.stringifyResult(result));
+                writer.flush();
+            };
+            failed = archive ? grader.gradeArchive(Path.of(source), rows) : grader.grade(submissions, rows);
+        }
+        finally{
+            if(Objects.isNull(outputFile)){
+                writer.flush();
+            }
+            else{
+                writer.close();
+            }
+        }
+        log.log(Level.INFO, String.format("Graded %s in %.1f s, %d failed", source,
+                (System.nanoTime() - start) / 1e9, failed));
+        return failed;
+    }
+
+    /**
+     * Prints costs of built diagram indexes and of defect checks, the most expensive first
+     * @param checker checker after finding defects
+     */
+    private static void printCheckCosts(DefectChecker checker){
+        Comparator<Map.Entry<?, CheckCost>> byTime = Comparator.comparingLong(entry -> entry.getValue().getWallTimeNanos());
+        checker.getIndexCosts().entrySet().stream()
+                .sorted(byTime.reversed())
+                .forEach(entry -> System.err.printf("index %-40s %s%n", entry.getKey(), entry.getValue()));
+        checker.getCheckCosts().entrySet().stream()
+                .sorted(byTime.reversed())
+                .forEach(entry -> System.err.printf("check %-40s %s%n", entry.getKey(), entry.getValue()));
+    }
+
 }
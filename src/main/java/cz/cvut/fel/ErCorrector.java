@@ -0,0 +1,93 @@
+package cz.cvut.fel;
+
+import cz.cvut.fel.grading.AssignmentGrader;
+import cz.cvut.fel.grading.GradingResult;
+import cz.cvut.fel.grading.configuration.GradingPlan;
+import cz.cvut.fel.grading.configuration.GradingPlanCache;
+import cz.cvut.fel.parser.DiagramPage;
+import cz.cvut.fel.parser.PageSelector;
+import cz.cvut.fel.parser.XMLValidator;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+
+/**
+ * ErCorrector is the library entry point for embedding the corrector in other applications.
+ * All methods are thread safe, every call parses and grades with its own objects and only shares
+ * immutable GradingPlans. Nothing is printed and the JVM is never exited, results are returned
+ * as GradingResults and failures are thrown.
+ *
+ * @author Adam Skarda
+ * @see GradingResult
+ * @see GradingPlan
+ */
+public final class ErCorrector {
+
+    private ErCorrector(){
+    }
+
+    /**
+     * Compiles grading configuration
+     * @param configuration Properties object containing defect configuration
+     * @return compiled plan, may be shared by any number of gradings
+     * @throws cz.cvut.fel.exception.ConfigurationException describing every invalid configuration value
+     */
+    public static GradingPlan compilePlan(Properties configuration){
+        return GradingPlan.compile(configuration);
+    }
+
+    /**
+     * Loads a grading configuration file, the compiled plan is cached until the file changes
+     * @param configuration path to configuration file
+     * @return compiled plan, may be shared by any number of gradings
+     * @throws IOException when the file cannot be read
+     * @throws cz.cvut.fel.exception.ConfigurationException describing every invalid configuration value
+     */
+    public static GradingPlan loadPlan(Path configuration) throws IOException{
+        return GradingPlanCache.get(configuration);
+    }
+
+    /**
+     * Grades the first page of a diagram file
+     * @param diagram diagram file in any supported format, the stream is closed
+     * @param plan compiled configuration
+     * @return result of grading
+     * @throws IOException if the diagram cannot be read, its format is not supported or it has no page
+     * @throws XMLStreamException if the diagram is not well-formed
+     */
+    public static GradingResult grade(InputStream diagram, GradingPlan plan) throws IOException, XMLStreamException{
+        List<GradingResult> results = grade(diagram, plan, PageSelector.byIndex(0), null);
+        if(results.isEmpty()){
+            throw new IOException("Diagram page not found");
+        }
+        return results.get(0);
+    }
+
+    /**
+     * Grades selected pages of a diagram file
+     * @param diagram diagram file in any supported format, the stream is closed
+     * @param plan compiled configuration
+     * @param selector pages to be graded
+     * @param executor executor running defect checks of a page concurrently, null to run them in the calling thread
+     * @return results of selected pages in file order, empty if no page was selected
+     * @throws IOException if the diagram cannot be read or its format is not supported
+     * @throws XMLStreamException if the diagram is not well-formed
+     */
+    public static List<GradingResult> grade(InputStream diagram, GradingPlan plan, PageSelector selector,
+                                            Executor executor) throws IOException, XMLStreamException{
+        List<DiagramPage> pages = new XMLValidator(diagram).extractPages(selector);
+        List<GradingResult> results = new ArrayList<>(pages.size());
+        for(DiagramPage page : pages){
+            AssignmentGrader grader = new AssignmentGrader(plan, page.getDiagram(), executor);
+            grader.grade();
+            results.add(new GradingResult(page.getIndex(), page.getName(), grader));
+        }
+        return results;
+    }
+}
@@ -7,9 +7,8 @@ import cz.cvut.fel.parser.XMLValidator;
 import cz.cvut.fel.utils.ConfigLoader;
 import lombok.extern.java.Log;
 import cz.cvut.fel.model.Diagram;
-import org.xml.sax.SAXException;
 
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
@@ -67,7 +66,7 @@ public class IDERunner {
             e.printStackTrace();
             System.exit(1);
         }
-        catch(SAXException | ParserConfigurationException e){
+        catch(XMLStreamException e){
             log.log(Level.SEVERE, "Parser cz.cvut.fel.corrector.exception");
             e.printStackTrace();
             System.exit(1);
@@ -202,6 +202,14 @@ public enum DefectType {
     WEAK_ENTITY_IDENTIFIED("Weak entity identification","weak_entity_identified",
             ConfigValueType.BASIC, "0.5"),
 
+    /**
+     * Basic Er modeling defect, can be in any Entity relationship diagram independently of given task.
+     * Its presence signifies that an Entity is its own ancestor through a cycle of Generalization edges.
+     * Disabled by default, so that configurations written before it existed grade the same.
+     */
+    ACYCLIC_HIERARCHY("Acyclic generalization hierarchy","acyclic_hierarchy",
+            ConfigValueType.BASIC, "disable"),
+
     /**
      * Basic Er modeling defect, can be in any Entity relationship diagram independently of given task.
      * Its presence signifies that not every Entity-Relationship edge has a specified Cardinality.
@@ -0,0 +1,25 @@
+package cz.cvut.fel.enums;
+
+/**
+ * Analyses of a frozen diagram that defect checks may require.
+ * Required indexes are built once per diagram before the checks run.
+ * @see cz.cvut.fel.model.DiagramSnapshot#prepare(DiagramIndex)
+ */
+public enum DiagramIndex {
+    /**
+     * Connected components of the diagram
+     */
+    COMPONENTS,
+    /**
+     * Generalization hierarchies, their annotations and cycles
+     */
+    HIERARCHIES,
+    /**
+     * Identification status and weakness of entities, requires HIERARCHIES
+     */
+    IDENTIFICATION,
+    /**
+     * Counts of diagram components, requires HIERARCHIES and IDENTIFICATION
+     */
+    STATISTICS
+}
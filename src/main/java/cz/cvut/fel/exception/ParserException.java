@@ -2,7 +2,7 @@ package cz.cvut.fel.exception;
 
 /**
  * Exception encountered during Diagram parsing
- * @see cz.cvut.fel.parser.Parser
+ * @see cz.cvut.fel.parser.StreamParser
  */
 public class ParserException extends RuntimeException{
     public ParserException() {
@@ -1,7 +1,7 @@
 package cz.cvut.fel.grading;
 
 import cz.cvut.fel.grading.checker.DefectChecker;
-import cz.cvut.fel.grading.configuration.ConfigExtractor;
+import cz.cvut.fel.grading.configuration.GradingPlan;
 import cz.cvut.fel.grading.defect.Defect;
 import cz.cvut.fel.model.Diagram;
 import lombok.Getter;
@@ -10,6 +10,7 @@ import lombok.extern.java.Log;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.Executor;
 import java.util.logging.Level;
 
 /**
@@ -26,18 +27,42 @@ public class AssignmentGrader {
     private float points;
     private final List<Defect> defects = new LinkedList<>();
     private final Diagram diagram;
-    private final Properties properties;
+    private final GradingPlan plan;
     private final DefectChecker defectChecker;
 
     /**
      * Basic constructor
      * @param config Properties object containing defect checking configuration
      * @param diagram Diagram object to be checked for defects and graded
+     * @throws cz.cvut.fel.exception.ConfigurationException describing every invalid configuration value
      */
     public AssignmentGrader(Properties config, Diagram diagram){
+        this(GradingPlan.compile(config), diagram, null);
+    }
+
+    /**
+     * Constructor running defect checks concurrently
+     * @param config Properties object containing defect checking configuration
+     * @param diagram Diagram object to be checked for defects and graded
+     * @param executor Executor running defect checks, null to run them sequentially
+     * @throws cz.cvut.fel.exception.ConfigurationException describing every invalid configuration value
+     * @see DefectChecker
+     */
+    public AssignmentGrader(Properties config, Diagram diagram, Executor executor){
+        this(GradingPlan.compile(config), diagram, executor);
+    }
+
+    /**
+     * Constructor with a compiled configuration, the plan is only read and may be shared by any number of graders
+     * @param plan compiled defect checking configuration
+     * @param diagram Diagram object to be checked for defects and graded
+     * @param executor Executor running defect checks, null to run them sequentially
+     * @see cz.cvut.fel.grading.configuration.GradingPlanCache
+     */
+    public AssignmentGrader(GradingPlan plan, Diagram diagram, Executor executor){
         this.diagram = diagram;
-        this.properties = config;
-        defectChecker = new DefectChecker(diagram, new ConfigExtractor(config));
+        this.plan = plan;
+        defectChecker = new DefectChecker(diagram, plan, executor);
     }
 
     /**
@@ -47,7 +72,8 @@ public class AssignmentGrader {
      * Used to grade an ER diagram.
      */
     public void grade(){
-        log.log(Level.INFO, "Grading diagram");
+        log.log(Level.FINE, "Grading diagram");
+        defects.clear();
         defects.addAll(defectChecker.findDefects());
         points = computePoints(defects);
     }
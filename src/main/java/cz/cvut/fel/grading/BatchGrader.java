@@ -0,0 +1,284 @@
+package cz.cvut.fel.grading;
+
+import cz.cvut.fel.ErCorrector;
+import cz.cvut.fel.grading.configuration.GradingPlan;
+import cz.cvut.fel.parser.PageSelector;
+import lombok.extern.java.Log;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipFile;
+
+/**
+ * The Class BatchGrader grades many submitted diagram files with one compiled configuration.
+ * Submissions are parsed and graded concurrently on a bounded pool of threads,
+ * results are handed out in the order of completion.
+ * A submission that cannot be parsed or graded produces a failed result and does not stop the run.
+ * Submissions are either files or entries of a ZIP archive, which are decompressed
+ * by the grading threads without extracting them to disk.
+ *
+ * @author Adam Skarda
+ * @see SubmissionResult
+ */
+@Log
+public class BatchGrader {
+    /**
+     * Extensions of files taken from submission directories
+     */
+    private static final Set<String> diagramExtensions = Set.of("xml", "drawio", "png", "svg");
+
+    private static final String listFilePrefix = "@";
+
+    private static final String zipExtension = "zip";
+
+    /**
+     * A submitted diagram identified by its name
+     */
+    public interface Submission {
+        /**
+         * @return name of the submission, file path or path of an archive entry
+         */
+        String getName();
+
+        /**
+         * @return new stream of the submitted diagram
+         * @throws IOException when the submission cannot be read
+         */
+        InputStream open() throws IOException;
+
+        static Submission of(Path file){
+            return new Submission() {
+                @Override
+                public String getName(){
+                    return file.toString();
+                }
+
+                @Override
+                public InputStream open() throws IOException{
+                    return Files.newInputStream(file);
+                }
+            };
+        }
+    }
+
+    private final GradingPlan plan;
+    private final PageSelector selector;
+    private final int threads;
+
+    /**
+     * Basic constructor
+     * @param plan compiled configuration shared by all submissions
+     * @param selector pages graded in every submission
+     * @param threads number of submissions graded at once
+     */
+    public BatchGrader(GradingPlan plan, PageSelector selector, int threads){
+        if(threads < 1){
+            throw new IllegalArgumentException(String.format("Number of threads %d has to be positive", threads));
+        }
+        this.plan = plan;
+        this.selector = selector;
+        this.threads = threads;
+    }
+
+    /**
+     * Finds submission files.
+     * Source is either a directory searched recursively for diagram files,
+     * a list file prefixed by '@' with one path per line relative to the list file,
+     * or a glob pattern such as "submissions/**.drawio".
+     * @param source directory, '@' prefixed list file or glob pattern
+     * @return submission files in a stable order
+     * @throws IOException when the source cannot be read
+     */
+    public static List<Path> findSubmissions(String source) throws IOException{
+        if(source.startsWith(listFilePrefix)){
+            Path listFile = Path.of(source.substring(listFilePrefix.length()));
+            Path base = Objects.requireNonNullElse(listFile.toAbsolutePath().getParent(), Path.of(""));
+            return Files.readAllLines(listFile).stream()
+                    .map(String::strip)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .map(base::resolve)
+                    .collect(Collectors.toList());
+        }
+
+        Path directory = Path.of(source);
+        if(Files.isDirectory(directory)){
+            return walk(directory, path -> diagramExtensions.contains(extension(path)));
+        }
+
+        //glob is matched from the deepest directory without glob characters
+        Path base = Path.of("");
+        for(Path part : directory){
+            if(part.toString().matches(".*[*?\\[{].*")){
+                break;
+            }
+            base = base.resolve(part);
+        }
+        if(directory.isAbsolute()){
+            base = directory.getRoot().resolve(base);
+        }
+        if(base.equals(directory)){
+            return Files.isRegularFile(directory) ? List.of(directory) : List.of();
+        }
+        PathMatcher matcher = directory.getFileSystem().getPathMatcher("glob:" + source);
+        return walk(base, matcher::matches);
+    }
+
+    private static List<Path> walk(Path directory, Predicate<Path> filter) throws IOException{
+        try(Stream<Path> paths = Files.walk(directory)){
+            return paths.filter(Files::isRegularFile)
+                    .filter(filter)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * @param source batch source
+     * @return true if the source is a ZIP archive of submissions
+     */
+    public static boolean isArchive(String source){
+        Path path = Path.of(source);
+        return Files.isRegularFile(path) && extension(path).equals(zipExtension);
+    }
+
+    private static String extension(Path path){
+        return extension(path.getFileName().toString());
+    }
+
+    private static String extension(String name){
+        int dot = name.lastIndexOf('.');
+        return dot <= name.lastIndexOf('/') ? "" : name.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Grades given submission files
+     * @param submissions submission files
+     * @param results consumer of results
+     * @return number of submissions that failed
+     * @see #gradeSubmissions(List, Consumer)
+     */
+    public int grade(List<Path> submissions, Consumer<SubmissionResult> results){
+        return gradeSubmissions(submissions.stream().map(Submission::of).collect(Collectors.toList()), results);
+    }
+
+    /**
+     * Grades diagram entries of a ZIP archive, entries are keyed by their path in the archive.
+     * Entries are decompressed by the grading threads, so reading later entries overlaps with grading.
+     * @param archive ZIP archive of submissions
+     * @param results consumer of results
+     * @return number of submissions that failed
+     * @throws IOException when the archive cannot be opened
+     * @see #gradeSubmissions(List, Consumer)
+     */
+    public int gradeArchive(Path archive, Consumer<SubmissionResult> results) throws IOException{
+        try(ZipFile zip = new ZipFile(archive.toFile())){
+            List<Submission> submissions = zip.stream()
+                    .filter(entry -> !entry.isDirectory())
+                    .filter(entry -> diagramExtensions.contains(extension(entry.getName())))
+                    .map(entry -> new Submission() {
+                        @Override
+                        public String getName(){
+                            return entry.getName();
+                        }
+
+                        @Override
+                        public InputStream open() throws IOException{
+                            return zip.getInputStream(entry);
+                        }
+                    })
+                    .collect(Collectors.toList());
+            log.log(Level.FINE, String.format("Found %d submissions in %s", submissions.size(), archive));
+            return gradeSubmissions(submissions, results);
+        }
+    }
+
+    /**
+     * Grades given submissions, at most twice the number of threads are in progress at once.
+     * Results are passed to the consumer in the calling thread as soon as their submission is graded.
+     * @param submissions submissions to be graded
+     * @param results consumer of results
+     * @return number of submissions that failed
+     */
+    public int gradeSubmissions(List<Submission> submissions, Consumer<SubmissionResult> results){
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CompletionService<List<SubmissionResult>> completion = new ExecutorCompletionService<>(pool);
+        Map<Future<List<SubmissionResult>>, Submission> inProgress = new HashMap<>();
+        Iterator<Submission> pending = submissions.iterator();
+        int failed = 0;
+
+        try{
+            while(pending.hasNext() && inProgress.size() < 2 * threads){
+                Submission submission = pending.next();
+                inProgress.put(completion.submit(() -> gradeSubmission(submission)), submission);
+            }
+
+            while(!inProgress.isEmpty()){
+                Future<List<SubmissionResult>> done = completion.take();
+                Submission submission = inProgress.remove(done);
+                List<SubmissionResult> submissionResults;
+                try{
+                    submissionResults = done.get();
+                }
+                catch(ExecutionException ex){
+                    log.log(Level.WARNING, String.format("Error grading %s", submission.getName()), ex.getCause());
+                    submissionResults = List.of(SubmissionResult.failed(submission.getName(),
+                            ex.getCause().toString()));
+                }
+
+                for(SubmissionResult result : submissionResults){
+                    if(result.isFailed()){
+                        failed++;
+                    }
+                    results.accept(result);
+                }
+
+                if(pending.hasNext()){
+                    Submission next = pending.next();
+                    inProgress.put(completion.submit(() -> gradeSubmission(next)), next);
+                }
+            }
+        }
+        catch(InterruptedException ex){
+            Thread.currentThread().interrupt();
+            log.log(Level.WARNING, "Batch grading interrupted", ex);
+        }
+        finally{
+            pool.shutdownNow();
+        }
+        return failed;
+    }
+
+    /**
+     * Parses and grades one submission
+     * @param submission submission to be graded
+     * @return results of all selected pages, or a single failed result
+     */
+    private List<SubmissionResult> gradeSubmission(Submission submission){
+        String name = submission.getName();
+        try(InputStream input = submission.open()){
+            List<GradingResult> pages = ErCorrector.grade(input, plan, selector, null);
+            if(pages.isEmpty()){
+                return List.of(SubmissionResult.failed(name, "Diagram page not found"));
+            }
+
+            List<SubmissionResult> results = new ArrayList<>(pages.size());
+            for(GradingResult page : pages){
+                results.add(SubmissionResult.graded(name, page));
+            }
+            return results;
+        }
+        catch(IOException | XMLStreamException | RuntimeException ex){
+            log.log(Level.WARNING, String.format("Error grading %s", name), ex);
+            return List.of(SubmissionResult.failed(name, ex.toString()));
+        }
+    }
+}
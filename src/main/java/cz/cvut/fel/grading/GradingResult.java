@@ -0,0 +1,70 @@
+package cz.cvut.fel.grading;
+
+import cz.cvut.fel.grading.defect.Defect;
+import cz.cvut.fel.model.DiagramSnapshot;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Class GradingResult is an immutable result of grading one diagram page.
+ * The graded diagram is kept as the read-only snapshot the checks were run on,
+ * vertices and edges it refers to must not be modified.
+ *
+ * @author Adam Skarda
+ * @see cz.cvut.fel.ErCorrector
+ */
+@Getter
+public class GradingResult {
+    /**
+     * Position of the graded page in the file, starting from 0
+     */
+    private final int pageIndex;
+
+    /**
+     * Name of the graded page, empty for formats without pages
+     */
+    private final String pageName;
+
+    /**
+     * Frozen view of the graded diagram
+     */
+    private final DiagramSnapshot snapshot;
+
+    /**
+     * Checked defects in grading output order
+     */
+    private final List<Defect> defects;
+
+    /**
+     * Points awarded for defects not present in the diagram
+     */
+    private final float points;
+
+    /**
+     * Points awarded if no defect was present
+     */
+    private final float maxPoints;
+
+    /**
+     * @param pageIndex position of the graded page in the file
+     * @param pageName name of the graded page
+     * @param grader grader after grading
+     */
+    public GradingResult(int pageIndex, String pageName, AssignmentGrader grader) {
+        this.pageIndex = pageIndex;
+        this.pageName = pageName;
+        this.snapshot = grader.getDiagram().freeze();
+        this.defects = List.copyOf(grader.getDefects());
+        this.points = grader.getPoints();
+        this.maxPoints = defects.stream().map(Defect::getPoints).reduce(0.0f, Float::sum);
+    }
+
+    /**
+     * @return read-only list of defects present in the diagram
+     */
+    public List<Defect> getPresentDefects(){
+        return defects.stream().filter(Defect::getPresent).collect(Collectors.toUnmodifiableList());
+    }
+}
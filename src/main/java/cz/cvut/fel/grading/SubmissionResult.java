@@ -0,0 +1,81 @@
+package cz.cvut.fel.grading;
+
+import cz.cvut.fel.enums.DefectType;
+import cz.cvut.fel.grading.defect.Defect;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Class SubmissionResult is a summary of grading of one submitted diagram page in batch grading.
+ * A submission that could not be graded is described by an error message.
+ *
+ * @author Adam Skarda
+ * @see BatchGrader
+ */
+@Getter
+public class SubmissionResult {
+    private final String submission;
+
+    /**
+     * Name of the graded page, empty for formats without pages or for failed submissions
+     */
+    private final String page;
+
+    private final float points;
+    private final float maxPoints;
+
+    /**
+     * Number of checked defects
+     */
+    private final int checkedCount;
+
+    /**
+     * Types of defects present in the diagram
+     */
+    private final List<DefectType> presentDefects;
+
+    /**
+     * Reason of the failure, null if the submission was graded
+     */
+    private final String error;
+
+    private SubmissionResult(String submission, String page, float points, float maxPoints, int checkedCount,
+                             List<DefectType> presentDefects, String error) {
+        this.submission = submission;
+        this.page = page;
+        this.points = points;
+        this.maxPoints = maxPoints;
+        this.checkedCount = checkedCount;
+        this.presentDefects = presentDefects;
+        this.error = error;
+    }
+
+    /**
+     * @param submission submission identifier e.g. file path
+     * @param result result of grading a page of the submission
+     * @return result of a graded submission
+     */
+    public static SubmissionResult graded(String submission, GradingResult result){
+        return new SubmissionResult(submission, result.getPageName(), result.getPoints(), result.getMaxPoints(),
+                result.getDefects().size(),
+                result.getPresentDefects().stream().map(Defect::getType).collect(Collectors.toList()),
+                null);
+    }
+
+    /**
+     * @param submission submission identifier e.g. file path
+     * @param error reason of the failure
+     * @return result of a submission that could not be graded
+     */
+    public static SubmissionResult failed(String submission, String error){
+        return new SubmissionResult(submission, "", 0.0f, 0.0f, 0, Collections.emptyList(), error);
+    }
+
+    public boolean isFailed(){
+        return Objects.nonNull(error);
+    }
+}
@@ -35,14 +35,18 @@ public class BasicDefectChecker {
 
         float taskPoints = value.getPoints();
 
-        List<Entity> problematicAncestors = diagram.getEdges().stream()
-                .filter(Edge::isGeneralization)
-                .map(generalization -> (Generalization) generalization)
-                .filter(generalization -> !generalization.getCoverage().equals(Coverage.NOT_RECOGNIZED) ||
-                        !generalization.getDisjointness().equals(Disjointness.NOT_RECOGNIZED))
-                .map(Edge::getTarget)
-                .map(vertex -> (Entity) vertex)
-                .collect(Collectors.toList());
+        DiagramSnapshot snapshot = diagram.freeze();
+        HierarchyIndex hierarchies = snapshot.getHierarchies();
+        List<Entity> problematicAncestors = new LinkedList<>();
+
+        for(int hierarchy = 0; hierarchy < hierarchies.getHierarchyCount(); hierarchy++){
+            int ancestor = hierarchies.getHierarchyParent(hierarchy);
+            if(snapshot.isEntity(ancestor)
+                    && (hierarchies.getCoverage(hierarchy) == Coverage.NOT_RECOGNIZED
+                        || hierarchies.getDisjointness(hierarchy) == Disjointness.NOT_RECOGNIZED)){
+                problematicAncestors.add((Entity) snapshot.getVertex(ancestor));
+            }
+        }
 
         if(!problematicAncestors.isEmpty()){
             defectPresence = true;
@@ -75,12 +79,19 @@ public class BasicDefectChecker {
 
         float taskPoints = value.getPoints();
 
-        List<Edge> multivaluedEdges = diagram.getEdges().stream()
-                .filter(Edge::isAttributeConnection)
-                .filter(Edge::hasCardinality)
-                .collect(Collectors.toList());
+        DiagramSnapshot snapshot = diagram.freeze();
+        boolean multivaluedPresent = false;
 
-        if(multivaluedEdges.isEmpty()){
+        for(int edge = 0; edge < snapshot.getEdgeCount(); edge++){
+            if(snapshot.isAttributeConnection(edge) && snapshot.hasCardinality(edge)){
+                multivaluedPresent = true;
+                if(snapshot.getCardinality(edge) == Cardinality.ONE){
+                    problematicAttributes.add((Attribute) snapshot.getEdge(edge).getSource());
+                }
+            }
+        }
+
+        if(!multivaluedPresent){
             info.append("No multivalued attributes present, no points added");
             return resultingDefectBuilder.type(defectType)
                     .points(taskPoints)
@@ -90,15 +101,7 @@ public class BasicDefectChecker {
                     .build();
         }
 
-        List<Edge> edgesWithIllegalCardinality =  multivaluedEdges.stream()
-                    .filter(edge -> edge.getCardinality().equals(Cardinality.ONE))
-                    .collect(Collectors.toList());
-
-        if(!edgesWithIllegalCardinality.isEmpty()){
-            problematicAttributes.addAll(edgesWithIllegalCardinality.stream()
-                    .map(edge -> (Attribute)edge.getSource())
-                    .collect(Collectors.toList()));
-
+        if(!problematicAttributes.isEmpty()){
             info.append(String.format("Multivalued attributes: %s with incorrect cardinality 1..1", problematicAttributes));
             defectPresence = true;
         }
@@ -113,6 +116,7 @@ public class BasicDefectChecker {
 
     /**
      * For finding diagram connectivity. Diagram should have only one component.
+     * Main component is the largest one, additional information lists every component.
      * Resulting defect has all Vertices that were not present in the main diagram component.
      * @param diagram diagram to be checked
      * @param defectType DefectType associated with this check
@@ -139,15 +143,24 @@ public class BasicDefectChecker {
                     .build();
         }
 
-        List<Vertex> notInMainComponent = diagram.getMissingVerticesFromMainComponent();
+        DiagramComponents components = diagram.freeze().getComponents();
+        List<Vertex> notInMainComponent = components.getVerticesOutsideLargest();
 
         if(!notInMainComponent.isEmpty()){
             info.append(String.format("Vertices not in main component: %s", notInMainComponent));
+            for(int component = 0; component < components.getComponentCount(); component++){
+                if(component == components.getLargestComponent()){
+                    info.append(String.format("\n\t\tComponent %d (main) with %d vertices", component + 1,
+                            components.getComponentSize(component)));
+                }
+                else{
+                    info.append(String.format("\n\t\tComponent %d with %d vertices: %s", component + 1,
+                            components.getComponentSize(component), components.getMembers(component)));
+                }
+            }
             defectPresence = true;
         }
 
-
-
         return resultingDefectBuilder
                 .type(defectType)
                 .present(defectPresence)
@@ -182,9 +195,15 @@ public class BasicDefectChecker {
                     .build();
         }
 
-        List<Entity> entitiesWithoutKeys = diagram.getEntities().stream()
-                .filter(entity -> !entity.hasIdentifier())
-                .collect(Collectors.toList());
+        DiagramSnapshot snapshot = diagram.freeze();
+        EntityIdentification identification = snapshot.getIdentification();
+        List<Entity> entitiesWithoutKeys = new LinkedList<>();
+
+        for(int vertex = 0; vertex < snapshot.getVertexCount(); vertex++){
+            if(snapshot.isEntity(vertex) && !identification.isIdentified(vertex)){
+                entitiesWithoutKeys.add((Entity) snapshot.getVertex(vertex));
+            }
+        }
 
         if(!entitiesWithoutKeys.isEmpty()){
             defectPresence = true;
@@ -216,7 +235,17 @@ public class BasicDefectChecker {
 
         float points = value.getPoints();
 
-        if(diagram.getEntities().stream().noneMatch(Entity::isWeakEntity)){
+        DiagramSnapshot snapshot = diagram.freeze();
+        EntityIdentification identification = snapshot.getIdentification();
+        List<Entity> weakEntities = new LinkedList<>();
+
+        for(int vertex = 0; vertex < snapshot.getVertexCount(); vertex++){
+            if(snapshot.isEntity(vertex) && identification.isWeak(vertex)){
+                weakEntities.add((Entity) snapshot.getVertex(vertex));
+            }
+        }
+
+        if(weakEntities.isEmpty()){
 
             return resultingDefectBuilder
                     .type(defectType)
@@ -227,8 +256,7 @@ public class BasicDefectChecker {
                     .build();
         }
 
-        List<Entity> incorrectUses = diagram.getEntities().stream()
-                .filter(Entity::isWeakEntity)
+        List<Entity> incorrectUses = weakEntities.stream()
                 .filter(entity -> entity.getKeys().stream()
                             .filter(key -> !key.isSimple())
                             .map(key -> (Composite) key)
@@ -248,6 +276,44 @@ public class BasicDefectChecker {
                 .build();
     }
 
+    /**
+     * For finding cycles in generalization hierarchies.
+     * An entity cannot be its own ancestor.
+     * @param diagram diagram to be checked
+     * @param defectType DefectType associated with this check
+     * @param value configuration value for this defect type
+     * @return Defect describing which Entities are part of a generalization cycle
+     */
+    public static BasicDefect<Entity> checkHierarchyCycles(Diagram diagram, DefectType defectType, ConfigValue value){
+
+        boolean defectPresence = false;
+        StringBuilder info = new StringBuilder();
+
+        var resultingDefectBuilder = BasicDefect.<Entity>basicBuilder();
+
+        float points = value.getPoints();
+
+        List<List<Entity>> cycles = diagram.freeze().getHierarchies().getCycles();
+        List<Entity> entitiesInCycles = new LinkedList<>();
+
+        for(List<Entity> cycle : cycles){
+            entitiesInCycles.addAll(cycle);
+            info.append(String.format("Entities %s form a generalization cycle.", cycle));
+        }
+
+        if(!entitiesInCycles.isEmpty()){
+            defectPresence = true;
+        }
+
+        return resultingDefectBuilder
+                .type(defectType)
+                .additionalInfo(info.toString())
+                .present(defectPresence)
+                .incorrectObjects(entitiesInCycles)
+                .points(points)
+                .build();
+    }
+
     /**
      * For finding out if cardinalities are present on every Entity - Relationship Edge.
      * @param diagram diagram to be checked
@@ -262,7 +328,20 @@ public class BasicDefectChecker {
         var resultingDefectBuilder = BasicDefect.<Edge>basicBuilder();
         float points = value.getPoints();
 
-        if(diagram.getEdges().stream().noneMatch(Edge::isRelationshipConnection)){
+        DiagramSnapshot snapshot = diagram.freeze();
+        boolean relationshipConnectionPresent = false;
+        List<Edge> edgesWithoutCardinality = new LinkedList<>();
+
+        for(int edge = 0; edge < snapshot.getEdgeCount(); edge++){
+            if(snapshot.isRelationshipConnection(edge)){
+                relationshipConnectionPresent = true;
+                if(!snapshot.hasCardinality(edge)){
+                    edgesWithoutCardinality.add(snapshot.getEdge(edge));
+                }
+            }
+        }
+
+        if(!relationshipConnectionPresent){
             return resultingDefectBuilder
                     .type(defectType)
                     .additionalInfo("No relationship connection present in diagram")
@@ -272,11 +351,6 @@ public class BasicDefectChecker {
                     .build();
         }
 
-        List<Edge> edgesWithoutCardinality = diagram.getEdges().stream()
-                .filter(Edge::isRelationshipConnection)
-                .filter(edge -> !edge.hasCardinality())
-                .collect(Collectors.toList());
-
         if(!edgesWithoutCardinality.isEmpty()){
             defectPresence = true;
         }
@@ -363,9 +437,11 @@ public class BasicDefectChecker {
         }
 
         List<Attribute> duplicateAttributes = new LinkedList<>();
+        DiagramSnapshot snapshot = diagram.freeze();
 
-        for(Vertex vertex : diagram.getVertices()){
-            List<Attribute> duplicates = findDuplicateAttributesOnVertex(vertex);
+        for(int vertexIndex = 0; vertexIndex < snapshot.getVertexCount(); vertexIndex++){
+            Vertex vertex = snapshot.getVertex(vertexIndex);
+            List<Attribute> duplicates = findDuplicateAttributesOnVertex(snapshot, vertexIndex);
 
             if(!duplicates.isEmpty()){
                 List<String> duplicateNames = duplicates.stream()
@@ -395,19 +471,21 @@ public class BasicDefectChecker {
 
     /**
      * For finding duplicate attribute names on a Vertex
-     * @param vertex vertex on which to look for duplicate attribute names
+     * @param snapshot frozen diagram
+     * @param vertex index of the vertex on which to look for duplicate attribute names
      * @return list of duplicate names without the first occurrance
      */
-    private static List<Attribute> findDuplicateAttributesOnVertex(Vertex vertex){
+    private static List<Attribute> findDuplicateAttributesOnVertex(DiagramSnapshot snapshot, int vertex){
         Set<String> uniqueNames = new HashSet<>();
-        List<Attribute> all = vertex.getAdjacentVertices().stream()
-                .filter(Vertex::isAttribute)
-                .map(attribute -> (Attribute) attribute)
-                .collect(Collectors.toList());
+        List<Attribute> duplicates = new LinkedList<>();
 
-        return all.stream()
-                .filter(attribute -> !uniqueNames.add(attribute.getName()))
-                .collect(Collectors.toList());
+        for(int position = snapshot.getAdjacencyStart(vertex); position < snapshot.getAdjacencyEnd(vertex); position++){
+            int adjacent = snapshot.getAdjacentVertex(position);
+            if(snapshot.isAttribute(adjacent) && !uniqueNames.add(snapshot.getVertex(adjacent).getName())){
+                duplicates.add((Attribute) snapshot.getVertex(adjacent));
+            }
+        }
+        return duplicates;
     }
 
     /**
@@ -0,0 +1,54 @@
+package cz.cvut.fel.grading.checker;
+
+import cz.cvut.fel.enums.DefectType;
+import cz.cvut.fel.enums.DiagramIndex;
+import cz.cvut.fel.grading.configuration.value.ConfigValue;
+import cz.cvut.fel.grading.defect.Defect;
+import cz.cvut.fel.model.Diagram;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * DefectCheck delegating to one of the static checker functions.
+ * @param <V> type of configuration value of the check
+ * @see DefectCheckRegistry
+ */
+@Getter
+final class BuiltInDefectCheck<V extends ConfigValue> implements DefectCheck<V> {
+
+    /**
+     * Signature shared by the static functions of defect checkers
+     */
+    @FunctionalInterface
+    interface CheckFunction<V extends ConfigValue> {
+        Defect check(Diagram diagram, DefectType defectType, V value);
+    }
+
+    private final DefectType defectType;
+    private final Class<V> configValueType;
+    private final Set<DiagramIndex> requiredIndexes;
+
+    @Getter(AccessLevel.NONE)
+    private final CheckFunction<V> function;
+
+    BuiltInDefectCheck(DefectType defectType, Class<V> configValueType, Set<DiagramIndex> requiredIndexes,
+                       CheckFunction<V> function){
+        this.defectType = defectType;
+        this.configValueType = configValueType;
+        this.requiredIndexes = Collections.unmodifiableSet(requiredIndexes);
+        this.function = function;
+    }
+
+    @Override
+    public Defect check(Diagram diagram, DefectType defectType, V value){
+        return function.check(diagram, defectType, value);
+    }
+
+    @Override
+    public String toString(){
+        return "BuiltInDefectCheck{" + defectType + '}';
+    }
+}
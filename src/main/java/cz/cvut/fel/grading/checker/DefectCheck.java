@@ -0,0 +1,50 @@
+package cz.cvut.fel.grading.checker;
+
+import cz.cvut.fel.enums.DefectType;
+import cz.cvut.fel.enums.DiagramIndex;
+import cz.cvut.fel.grading.configuration.value.ConfigValue;
+import cz.cvut.fel.grading.defect.Defect;
+import cz.cvut.fel.model.Diagram;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A single defect check run by DefectChecker.
+ * Built-in checks are registered by DefectCheckRegistry, additional checks are discovered
+ * by ServiceLoader from META-INF/services/cz.cvut.fel.grading.checker.DefectCheck.
+ * Checks only read the diagram and may be called from multiple threads at once.
+ *
+ * @param <V> type of configuration value of the check
+ * @author Adam Skarda
+ * @see DefectCheckRegistry
+ */
+public interface DefectCheck<V extends ConfigValue> {
+
+    /**
+     * @return type of defect produced by this check, also used to enable the check and read its configuration
+     */
+    DefectType getDefectType();
+
+    /**
+     * @return class of configuration values extracted for the defect type
+     */
+    Class<V> getConfigValueType();
+
+    /**
+     * Indexes are built before checks run, so their cost is not attributed to the first check using them.
+     * @return diagram indexes used by this check
+     */
+    default Set<DiagramIndex> getRequiredIndexes(){
+        return EnumSet.noneOf(DiagramIndex.class);
+    }
+
+    /**
+     * Checks a given diagram for presence of the defect
+     * @param diagram Diagram to be checked
+     * @param defectType Type of defect checked
+     * @param value configuration value of the defect
+     * @return Defect describing the result of the check
+     */
+    Defect check(Diagram diagram, DefectType defectType, V value);
+}
@@ -0,0 +1,137 @@
+package cz.cvut.fel.grading.checker;
+
+import cz.cvut.fel.enums.DefectType;
+import cz.cvut.fel.enums.DiagramIndex;
+import cz.cvut.fel.grading.configuration.value.*;
+import lombok.extern.java.Log;
+
+import java.util.*;
+import java.util.logging.Level;
+
+/**
+ * Class DefectCheckRegistry holds the ordered list of defect checks run by DefectChecker.
+ * Built-in checks come first in their established order. Checks discovered by ServiceLoader
+ * replace the built-in check of the same DefectType in its place, other discovered checks
+ * follow in the order of discovery.
+ * As DefectType is an enum, discovered checks have to produce one of its defect types.
+ *
+ * @author Adam Skarda
+ * @see DefectCheck
+ */
+@Log
+public final class DefectCheckRegistry {
+
+    /**
+     * Registry of the application class loader, loaded on first use
+     */
+    private static final class DefaultRegistry {
+        private static final DefectCheckRegistry INSTANCE = load(DefectCheckRegistry.class.getClassLoader());
+    }
+
+    private final List<DefectCheck<?>> checks;
+
+    private DefectCheckRegistry(List<DefectCheck<?>> checks){
+        this.checks = Collections.unmodifiableList(checks);
+    }
+
+    /**
+     * @return registry with built-in checks and checks discovered on the class path
+     */
+    public static DefectCheckRegistry getDefault(){
+        return DefaultRegistry.INSTANCE;
+    }
+
+    /**
+     * Creates registry with built-in checks and checks discovered by a given class loader
+     * @param loader class loader used by ServiceLoader
+     * @return registry of checks
+     */
+    public static DefectCheckRegistry load(ClassLoader loader){
+        Map<DefectType, DefectCheck<?>> checksByType = new LinkedHashMap<>();
+        builtInChecks().forEach(check -> checksByType.put(check.getDefectType(), check));
+
+        for(DefectCheck<?> check : ServiceLoader.load(DefectCheck.class, loader)){
+            if(Objects.isNull(check.getDefectType()) || Objects.isNull(check.getConfigValueType())){
+                log.log(Level.WARNING, String.format("Defect check %s ignored, it has no defect or value type", check));
+                continue;
+            }
+            log.log(Level.FINE, String.format("Registering defect check %s for %s", check, check.getDefectType()));
+            checksByType.put(check.getDefectType(), check);
+        }
+
+        return new DefectCheckRegistry(new ArrayList<>(checksByType.values()));
+    }
+
+    /**
+     * @return built-in checks in the order of their defects in grading output
+     */
+    private static List<DefectCheck<?>> builtInChecks(){
+        Set<DiagramIndex> none = EnumSet.noneOf(DiagramIndex.class);
+        Set<DiagramIndex> statistics = EnumSet.of(DiagramIndex.STATISTICS);
+        Set<DiagramIndex> hierarchies = EnumSet.of(DiagramIndex.HIERARCHIES);
+        Set<DiagramIndex> identification = EnumSet.of(DiagramIndex.IDENTIFICATION);
+
+        return List.of(
+                //basic ER modeling defects
+                new BuiltInDefectCheck<>(DefectType.MULTIVALUED_ATTRIBUTE_ILLEGAL_CARDINALITY, ConfigValue.class,
+                        none, BasicDefectChecker::checkMultivaluedAttributes),
+                new BuiltInDefectCheck<>(DefectType.CARDINALITIES_PRESENT, ConfigValue.class,
+                        none, BasicDefectChecker::checkCardinalities),
+                new BuiltInDefectCheck<>(DefectType.ONE_COMPONENT, ConfigValue.class,
+                        EnumSet.of(DiagramIndex.COMPONENTS), BasicDefectChecker::checkDiagramComponent),
+                new BuiltInDefectCheck<>(DefectType.EVERY_ENTITY_IDENTIFIED, ConfigValue.class,
+                        identification, BasicDefectChecker::checkAllEntityIds),
+                new BuiltInDefectCheck<>(DefectType.WEAK_ENTITY_IDENTIFIED, ConfigValue.class,
+                        identification, BasicDefectChecker::checkWeakEntities),
+                new BuiltInDefectCheck<>(DefectType.ACYCLIC_HIERARCHY, ConfigValue.class,
+                        hierarchies, BasicDefectChecker::checkHierarchyCycles),
+                new BuiltInDefectCheck<>(DefectType.NAMED_VERTICES, ConfigValue.class,
+                        none, BasicDefectChecker::checkNamedVertices),
+                new BuiltInDefectCheck<>(DefectType.NO_DUPLICATE_NAMES, ConfigValue.class,
+                        none, BasicDefectChecker::checkDuplicateNames),
+                new BuiltInDefectCheck<>(DefectType.NO_DUPLICATE_ATTRIBUTES, ConfigValue.class,
+                        none, BasicDefectChecker::checkDuplicateAttributes),
+                new BuiltInDefectCheck<>(DefectType.HIERARCHY_ANNOTATED, ConfigValue.class,
+                        hierarchies, BasicDefectChecker::checkHierarchyAnnotation),
+
+                //assignment/task specific defects
+                new BuiltInDefectCheck<>(DefectType.MULTIVALUED_ATTRIBUTE_COUNT, QuantityConfigValue.class,
+                        statistics, QuantityDefectChecker::checkMultivaluedAttributeCount),
+                new BuiltInDefectCheck<>(DefectType.MULTIVALUED_ATTRIBUTE_CARDINALITY_USAGE,
+                        CardinalityUsageConfigValue.class,
+                        none, UsageDefectChecker::checkMultivaluedAttributeCardinality),
+                new BuiltInDefectCheck<>(DefectType.ENTITY_COUNT, QuantityConfigValue.class,
+                        statistics, QuantityDefectChecker::checkEntityCount),
+                new BuiltInDefectCheck<>(DefectType.RELATIONSHIP_COUNT, QuantityConfigValue.class,
+                        statistics, QuantityDefectChecker::checkRelationshipCount),
+                new BuiltInDefectCheck<>(DefectType.ORDINARY_ATTRIBUTE_COUNT, QuantityConfigValue.class,
+                        statistics, QuantityDefectChecker::checkAttributeCount),
+                new BuiltInDefectCheck<>(DefectType.WEAK_ENTITY_COUNT, QuantityConfigValue.class,
+                        statistics, QuantityDefectChecker::checkWeakEntityCount),
+                new BuiltInDefectCheck<>(DefectType.HIERARCHY_COUNT, QuantityConfigValue.class,
+                        statistics, QuantityDefectChecker::checkHierarchyCount),
+                new BuiltInDefectCheck<>(DefectType.HIERARCHY_USAGE, HierarchyPairUsageConfigValue.class,
+                        hierarchies, UsageDefectChecker::checkHierarchy),
+                new BuiltInDefectCheck<>(DefectType.COMPOSITE_ID_COUNT, QuantityConfigValue.class,
+                        statistics, QuantityDefectChecker::checkCompositeCount),
+                new BuiltInDefectCheck<>(DefectType.MULTIPLE_ID_COUNT, QuantityConfigValue.class,
+                        statistics, QuantityDefectChecker::checkMultipleIdentificationsCount),
+                new BuiltInDefectCheck<>(DefectType.N_ARY_RELATIONSHIP_COUNT, NaryRelationshipConfigValue.class,
+                        statistics, QuantityDefectChecker::checkNaryRelationshipCount),
+                new BuiltInDefectCheck<>(DefectType.RECURSIVE_RELATIONSHIP_COUNT, QuantityConfigValue.class,
+                        statistics, QuantityDefectChecker::checkRecursiveRelationshipCount),
+                new BuiltInDefectCheck<>(DefectType.STRUCTURED_ATTRIBUTE_COUNT, QuantityConfigValue.class,
+                        statistics, QuantityDefectChecker::checkStructuredAttributeCount),
+                new BuiltInDefectCheck<>(DefectType.CARDINALITY_TYPE_USAGE, CardinalityUsageConfigValue.class,
+                        none, UsageDefectChecker::checkCardinality),
+                new BuiltInDefectCheck<>(DefectType.CARDINALITY_PAIR_USAGE, CardinalityPairUsageConfigValue.class,
+                        none, UsageDefectChecker::checkCardinalityPairs));
+    }
+
+    /**
+     * @return read-only list of checks in the order of their defects in grading output
+     */
+    public List<DefectCheck<?>> getChecks(){
+        return checks;
+    }
+}
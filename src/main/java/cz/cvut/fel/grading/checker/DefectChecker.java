@@ -1,641 +1,221 @@
 package cz.cvut.fel.grading.checker;
 
 import cz.cvut.fel.grading.configuration.ConfigExtractor;
-import cz.cvut.fel.grading.configuration.value.*;
+import cz.cvut.fel.grading.configuration.GradingPlan;
+import cz.cvut.fel.grading.configuration.value.ConfigValue;
 import cz.cvut.fel.grading.defect.Defect;
+import cz.cvut.fel.grading.struct.CheckCost;
 import cz.cvut.fel.enums.DefectType;
+import cz.cvut.fel.enums.DiagramIndex;
 
 import lombok.Getter;
 import lombok.extern.java.Log;
 import cz.cvut.fel.model.Diagram;
+import cz.cvut.fel.model.DiagramSnapshot;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.logging.Level;
 
 /**
  * Class for Diagram Defect checking based on Configuration.
  * Used for Diagram error checking and Task/assignment checking.
  * These checks are represented by the Defect class.
+ * Checks enabled in a compiled GradingPlan are run and only the diagram indexes they require are built.
+ * Checks only read the diagram and may run concurrently on a given executor.
+ * Wall time and allocations of every check and index are recorded.
  *
  * @author Adam Skarda
+ * @see DefectCheck
  */
 @Log
 @Getter
 public class DefectChecker {
 
-    private final List<Defect> defects = new LinkedList<>();
-    private final Diagram diagram;
-    private final ConfigExtractor extractor;
-
-    /**
-     * Basic constructor
-     * @param diagram Diagram to be checked for defects
-     * @param extractor Configuration for used defects
-     */
-    public DefectChecker(Diagram diagram, ConfigExtractor extractor){
-        this.diagram = diagram;
-        this.extractor = extractor;
-    }
-
-    /**
-     * Searches for presence of defects in diagram
-     * @return List of checked defects
-     */
-    public List<Defect> findDefects(){
-        defects.clear();
-        findBasicDefects();
-        findAssignmentSpecificDefects();
-        return defects;
-    }
-
-    /**
-     * Checks for presence of basic ER modeling defects
-     */
-    private void findBasicDefects(){
-        checkIllegalMultivaluedAttribute();
-        checkCardinalities();
-        checkDiagramComponent();
-        checkAllEntityIds();
-        checkWeakEntities();
-        checkNamedVertices();
-        checkDuplicateNames();
-        checkDuplicateAttributes();
-        checkHierarchyAnnotation();
-    }
-
-    /**
-     * Checks for presence of assignment/task specific defects
-     */
-    private void findAssignmentSpecificDefects(){
-        checkMultivaluedAttributeCount();
-        checkMultivaluedAttributeCardinalityUsage();
-        checkEntityCount();
-        checkRelationshipCount();
-        checkAttributeCount();
-        checkWeakEntityCount();
-        checkHierarchyCount();
-        checkHierarchyUsage();
-        checkCompositeIdentifierCount();
-        checkMultipleIdentifierCount();
-        checkNaryRelationshipCount();
-        checkRecursiveRelationshipCount();
-        checkStructuredAttributeCount();
-        checkCardinalityUsage();
-        checkCardinalityPairUsage();
-    }
-
-
-    /**
-     * Checks presence of multivalued attributes in diagram and their count.
-     * Adds the resulting QuantityDefect into the List of defects.
-     * Can be enabled or disabled in configuration.
-     * @see ConfigExtractor
-     */
-    private void checkMultivaluedAttributeCount(){
-        log.fine("Checking multivalued attribute count");
-
-        DefectType defectType = DefectType.MULTIVALUED_ATTRIBUTE_COUNT;
-
-        if(!extractor.isEnabledInConfig(defectType)){
-            return;
-        }
-
-        try{
-            QuantityConfigValue value = (QuantityConfigValue) extractor.getConfigValue(defectType);
-            defects.add(QuantityDefectChecker.checkMultivaluedAttributeCount(diagram, defectType, value));
-        }
-        catch(RuntimeException ex){
-            log.log(Level.WARNING, "Error checking multivalued attribute count!", ex);
-        }
-    }
-
-    /**
-     * Checks number of used entities in diagram.
-     * Adds the resulting QuantityDefect into the List of defects.
-     * Can be enabled or disabled in configuration.
-     * @see ConfigExtractor
-     */
-    private void checkEntityCount(){
-        log.fine("Checking entity count");
-
-        DefectType defectType = DefectType.ENTITY_COUNT;
-
-        if (!extractor.isEnabledInConfig(defectType)) return;
-
-        try {
-            QuantityConfigValue value = (QuantityConfigValue) extractor.getConfigValue(defectType);
-            defects.add(QuantityDefectChecker.checkEntityCount(diagram, defectType, value));
-        }
-        catch (RuntimeException ex){
-            log.log(Level.WARNING, "Error during entity counting!", ex);
-        }
-    }
-
-    /**
-     * Checks for number of used recursive relationships in diagram.
-     * Adds the resulting QuantityDefect into the List of defects.
-     * Can be enabled or disabled in configuration.
-     * @see ConfigExtractor
-     */
-    private void checkRecursiveRelationshipCount(){
-        log.fine("Checking recursive relationship count");
-
-        DefectType defectType = DefectType.RECURSIVE_RELATIONSHIP_COUNT;
-
-        if(!extractor.isEnabledInConfig(defectType)) return;
-
-        try{
-            QuantityConfigValue value = (QuantityConfigValue) extractor.getConfigValue(defectType);
-            defects.add(QuantityDefectChecker.checkRecursiveRelationshipCount(diagram, defectType, value));
-        }
-        catch(RuntimeException ex){
-            log.log(Level.WARNING, "Error checking recursive relationship count!", ex);
-        }
-
-    }
-
     /**
-     * Checks diagram for number of weak entities.
-     * Adds the resulting QuantityDefect into the List of defects.
-     * Can be enabled or disabled in configuration.
-     * @see ConfigExtractor
+     * Thread bean measuring allocations, null if the JVM does not support it
      */
-    private void checkWeakEntityCount(){
-        log.fine("Checking weak entity count");
+    private static final com.sun.management.ThreadMXBean ALLOCATION_BEAN = allocationBean();
 
-        DefectType defectType = DefectType.WEAK_ENTITY_COUNT;
-
-        if(!extractor.isEnabledInConfig(defectType)) return;
-
-        try{
-            QuantityConfigValue value = (QuantityConfigValue) extractor.getConfigValue(defectType);
-            defects.add(QuantityDefectChecker.checkWeakEntityCount(diagram, defectType, value));
-        }
-        catch(RuntimeException ex){
-            log.log(Level.WARNING, "Error checking weak entity count!", ex);
-        }
-    }
-
-    /**
-     * Checks diagram for the number of composite identifiers.
-     * Adds the resulting QuantityDefect into the List of defects.
-     * Can be enabled or disabled in configuration.
-     * @see ConfigExtractor
-     */
-    private void checkCompositeIdentifierCount(){
-        log.fine("Checking composite identification count");
-        DefectType defectType = DefectType.COMPOSITE_ID_COUNT;
-        if(!extractor.isEnabledInConfig(defectType)) return;
-
-        try{
-            QuantityConfigValue value = (QuantityConfigValue) extractor.getConfigValue(defectType);
-            defects.add(QuantityDefectChecker.checkCompositeCount(diagram, defectType, value));
-        }
-        catch (RuntimeException ex){
-            log.log(Level.WARNING, "Error counting composite identifiers!", ex);
-        }
-    }
-
-    /**
-     * Checks for number of structured attributes in diagram.
-     * Adds the resulting QuantityDefect into the List of defects.
-     * Can be enabled or disabled in configuration.
-     * @see ConfigExtractor
-     */
-    private void checkStructuredAttributeCount(){
-        log.fine("Checking structured attribute count");
-        DefectType defectType = DefectType.STRUCTURED_ATTRIBUTE_COUNT;
-        if(!extractor.isEnabledInConfig(defectType)) return;
-
-        try{
-            QuantityConfigValue value = (QuantityConfigValue) extractor.getConfigValue(defectType);
-            defects.add(QuantityDefectChecker.checkStructuredAttributeCount(diagram, defectType, value));
-        }
-        catch (RuntimeException ex){
-            log.log(Level.WARNING, "Error counting structured attributes!", ex);
-        }
-    }
-
-    /**
-     * Checks diagram for number of entities with multiple identifiers.
-     * Adds the resulting QuantityDefect into the List of defects.
-     * Can be enabled or disabled in configuration.
-     * @see ConfigExtractor
-     */
-    private void checkMultipleIdentifierCount(){
-        log.fine("Checking entity with multiple identifiers count");
-        DefectType defectType = DefectType.MULTIPLE_ID_COUNT;
-        if(!extractor.isEnabledInConfig(defectType)) return;
-
-        try{
-            QuantityConfigValue value = (QuantityConfigValue) extractor.getConfigValue(defectType);
-            defects.add(QuantityDefectChecker.checkMultipleIdentificationsCount(diagram, defectType, value));
-        }
-        catch (RuntimeException ex){
-            log.log(Level.WARNING, "Error counting entities with multiple identifiers!", ex);
-        }
-    }
-
-    /**
-     * Checks diagram for number of n-ary relationships.
-     * N-ary relationship is defined by the number of edges to entities.
-     * So relationship with 3 edges to entities is ternary and so on.
-     * The minimum number of edges comprising n-ary relationship can be configured.
-     * Adds the resulting QuantityDefect into the List of defects.
-     * Can be enabled or disabled in configuration.
-     * @see ConfigExtractor
-     */
-    private void checkNaryRelationshipCount(){
-        log.fine("Check n-ary relationships");
-
-        DefectType defectType = DefectType.N_ARY_RELATIONSHIP_COUNT;
-
-        if(!extractor.isEnabledInConfig(defectType)) return;
-
-        try{
-            NaryRelationshipConfigValue value = (NaryRelationshipConfigValue) extractor.getConfigValue(defectType);
-            defects.add(QuantityDefectChecker.checkNaryRelationshipCount(diagram, defectType, value));
-        }
-        catch (RuntimeException ex){
-            log.log(Level.WARNING, "Error counting n-ary relationships!", ex);
-        }
-    }
-
-
-    /**
-     * Checks the number of hierarchies in diagram.
-     * Adds the resulting QuantityDefect into the List of defects.
-     * Can be enabled or disabled in configuration.
-     * @see ConfigExtractor
-     */
-    private void checkHierarchyCount(){
-        log.fine("Checking hierarchy count");
-
-        DefectType defectType = DefectType.HIERARCHY_COUNT;
-
-        if(!extractor.isEnabledInConfig(defectType)) return;
-
-        try{
-            QuantityConfigValue value = (QuantityConfigValue) extractor.getConfigValue(defectType);
-            defects.add(QuantityDefectChecker.checkHierarchyCount(diagram, defectType, value));
-        }
-        catch (RuntimeException ex){
-            log.log(Level.WARNING, "Error counting hierarchies!", ex);
-        }
-    }
-
-    /**
-     * Checks for number of attributes in diagram.
-     * Adds the resulting QuantityDefect into the List of defects.
-     * Can be enabled or disabled in configuration.
-     * @see ConfigExtractor
-     */
-    private void checkAttributeCount(){
-        log.fine("Checking attribute count");
-
-        DefectType defectType = DefectType.ORDINARY_ATTRIBUTE_COUNT;
-
-        if(!extractor.isEnabledInConfig(defectType)) return;
-
-        try{
-            QuantityConfigValue value = (QuantityConfigValue) extractor.getConfigValue(defectType);
-            defects.add(QuantityDefectChecker.checkAttributeCount(diagram, defectType, value));
-        }
-        catch (RuntimeException ex){
-            log.log(Level.WARNING, "Error counting attributes!", ex);
-        }
-    }
+    private final List<Defect> defects = new LinkedList<>();
+    private final Diagram diagram;
 
     /**
-     * Checks for number of relationships.
-     * Adds the resulting QuantityDefect into the List of defects.
-     * Can be enabled or disabled in configuration.
-     * @see ConfigExtractor
+     * Compiled configuration with enabled checks and their values
      */
-    private void checkRelationshipCount(){
-        log.fine("Checking relationship count");
-
-        DefectType defectType = DefectType.RELATIONSHIP_COUNT;
-
-        if(!extractor.isEnabledInConfig(defectType)) return;
-
-        try{
-            QuantityConfigValue value = (QuantityConfigValue) extractor.getConfigValue(defectType);
-            defects.add(QuantityDefectChecker.checkRelationshipCount(diagram, defectType, value));
-        }
-        catch (RuntimeException ex){
-            log.log(Level.WARNING, "Error counting relationships!", ex);
-        }
-    }
+    private final GradingPlan plan;
 
     /**
-     * Checks cardinality usage on multivalued attributes.
-     * That means checking if all expected cardinalities
-     * were used on multivalued attribute connection.
-     * Expected cardinalities are specified in configuration.
-     * Adds the resulting UsageDefect into the List of defects.
-     * Can be enabled or disabled in configuration.
-     * @see ConfigExtractor
+     * Executor running checks concurrently, null if checks run sequentially
      */
-    private void checkMultivaluedAttributeCardinalityUsage(){
-        log.fine("Checking multivalued attribute cardinality usages");
-
-        DefectType defectType = DefectType.MULTIVALUED_ATTRIBUTE_CARDINALITY_USAGE;
-
-        if (!extractor.isEnabledInConfig(defectType)) return;
-
-        try{
-            CardinalityUsageConfigValue value = (CardinalityUsageConfigValue) extractor.getConfigValue(defectType);
-            defects.add(UsageDefectChecker.checkMultivaluedAttributeCardinality(diagram, defectType, value));
-        }
-        catch(RuntimeException ex){
-            log.log(Level.WARNING, "Error checking cardinalities of multivalued attributes!", ex);
-        }
-    }
+    private final Executor executor;
 
     /**
-     * Checks types of cardinalities used on relationship connections.
-     * That means checking if all expected cardinalities
-     * were used on multivalued attribute edge.
-     * Adds the resulting UsageDefect into the List of defects.
-     * Expected cardinalities are specified in configuration.
-     * Can be enabled or disabled in configuration.
-     * @see ConfigExtractor
+     * Costs of checks run by the last findDefects call
      */
-    private void checkCardinalityUsage(){
-        log.fine("Checking cardinality usage");
-
-        DefectType defectType = DefectType.CARDINALITY_TYPE_USAGE;
-
-        if(!extractor.isEnabledInConfig(defectType)) return;
-
-        try{
-            CardinalityUsageConfigValue values = (CardinalityUsageConfigValue) extractor.getConfigValue(defectType);
-
-            Defect defect = UsageDefectChecker.checkCardinality(diagram, defectType, values);
-            defects.add(defect);
-        }
-        catch(RuntimeException ex){
-            log.log(Level.WARNING, "Error during cardinality usage checking!", ex);
-        }
-    }
-
-
+    private final Map<DefectType, CheckCost> checkCosts = new EnumMap<>(DefectType.class);
 
     /**
-     * Checks types of hierarchy usage in diagram.
-     * That means uses of HierarchyPair Coverage and Disjointness.
-     * Expected HierarchyPairs are specified in configuration.
-     * Adds the resulting UsageDefect into the List of defects.
-     * Can be enabled or disabled in configuration.
-     * @see ConfigExtractor
+     * Costs of indexes built by the last findDefects call
      */
-    private void checkHierarchyUsage(){
-        log.log(Level.FINE, "Checking hierarchy pairs");
-
-        DefectType defectType = DefectType.HIERARCHY_USAGE;
-
-        if(!extractor.isEnabledInConfig(defectType)) return;
-
-        try{
-            HierarchyPairUsageConfigValue values = (HierarchyPairUsageConfigValue) extractor
-                    .getConfigValue(defectType);
-
-            Defect defect = UsageDefectChecker.checkHierarchy(diagram, defectType, values);
-            defects.add(defect);
-        }
-        catch(RuntimeException ex){
-            log.log(Level.WARNING, "Error during hierarchy pair usage checking!", ex);
-        }
-    }
-
+    private final Map<DiagramIndex, CheckCost> indexCosts = new EnumMap<>(DiagramIndex.class);
 
     /**
-     * Checks for cardinality pair usage in diagram.
-     * That means pairs of cardinalities connecting two entities through a relationship.
-     * Expected CardinalityPairs are specified in configuration.
-     * Adds the resulting UsageDefect into the List of defects.
-     * Can be enabled or disabled in configuration.
-     * @see ConfigExtractor
+     * Basic constructor, checks run sequentially in the calling thread
+     * @param diagram Diagram to be checked for defects
+     * @param extractor Configuration for used defects
+     * @throws cz.cvut.fel.exception.ConfigurationException describing every invalid configuration value
      */
-    private void checkCardinalityPairUsage(){
-        log.log(Level.FINE, "Checking cardinality pairs");
-
-        DefectType defectType = DefectType.CARDINALITY_PAIR_USAGE;
-
-        if(!extractor.isEnabledInConfig(defectType)) return;
-
-        try{
-            CardinalityPairUsageConfigValue values = (CardinalityPairUsageConfigValue) extractor.getConfigValue(defectType);
-
-            Defect defect = UsageDefectChecker.checkCardinalityPairs(diagram, defectType, values);
-            defects.add(defect);
-        }
-        catch(RuntimeException ex){
-            log.log(Level.WARNING, "Error during cardinality pair usage checking!", ex);
-        }
+    public DefectChecker(Diagram diagram, ConfigExtractor extractor){
+        this(diagram, extractor, null);
     }
 
-
     /**
-     * For finding out if all generalizations have valid Coverage and Disjointness
+     * Constructor for concurrent checking.
+     * Checks only read the diagram, so they may run on any executor e.g. ForkJoinPool.commonPool().
+     * @param diagram Diagram to be checked for defects
+     * @param extractor Configuration for used defects
+     * @param executor Executor running the checks, null to run them sequentially
+     * @throws cz.cvut.fel.exception.ConfigurationException describing every invalid configuration value
      */
-    private void checkHierarchyAnnotation(){
-        log.log(Level.FINE, "Checking hierarchy annotation");
-
-        DefectType defectType = DefectType.HIERARCHY_ANNOTATED;
-
-        if(!extractor.isEnabledInConfig(defectType)) return;
-
-        try{
-            ConfigValue value = extractor.getConfigValue(defectType);
-            defects.add(BasicDefectChecker.checkHierarchyAnnotation(diagram, defectType,value));
-        }
-        catch(RuntimeException ex){
-            log.log(Level.WARNING, "Exception during hierarchy annotation checking", ex);
-        }
+    public DefectChecker(Diagram diagram, ConfigExtractor extractor, Executor executor){
+        this(diagram, GradingPlan.compile(extractor, DefectCheckRegistry.getDefault()), executor);
     }
 
     /**
-     * For finding out if diagram is in one component.
-     * Adds the resulting BasicDefect into the List of defects.
-     * Can be enabled or disabled in configuration.
-     * @see ConfigExtractor
+     * Constructor with a compiled configuration, the plan may be shared by any number of checkers
+     * @param diagram Diagram to be checked for defects
+     * @param plan compiled configuration
+     * @param executor Executor running the checks, null to run them sequentially
      */
-    private void checkDiagramComponent(){
-        log.log(Level.FINE, "Checking diagram component");
-
-        DefectType defectType = DefectType.ONE_COMPONENT;
-
-        if(!extractor.isEnabledInConfig(defectType)) return;
-
-        try{
-            ConfigValue value = extractor.getConfigValue(defectType);
-            defects.add(BasicDefectChecker.checkDiagramComponent(diagram, defectType,value));
-        }
-        catch(RuntimeException ex){
-            log.log(Level.WARNING, "Exception during diagram component checking", ex);
-        }
+    public DefectChecker(Diagram diagram, GradingPlan plan, Executor executor){
+        this.diagram = diagram;
+        this.plan = plan;
+        this.executor = executor;
     }
 
     /**
-     * For finding out if every non-weak entity has an identifier.
-     * An identifier can be both simple attribute or composite.
-     * Adds the resulting BasicDefect into the List of defects.
-     * Can be enabled or disabled in configuration.
-     * @see ConfigExtractor
+     * Searches for presence of defects in diagram.
+     * Defects are always returned in the same order, regardless of the executor.
+     * A failing check is logged and leaves out only its own defect.
+     * @return List of checked defects
      */
-    private void checkAllEntityIds(){
-        log.log(Level.FINE, "Checking entity identification");
-
-        DefectType defectType = DefectType.EVERY_ENTITY_IDENTIFIED;
-
-        if(!extractor.isEnabledInConfig(defectType)) return;
-
-        try{
-            ConfigValue value = extractor.getConfigValue(defectType);
-            defects.add(BasicDefectChecker.checkAllEntityIds(diagram, defectType, value));
-        }
-        catch(RuntimeException ex){
-            log.log(Level.WARNING, "Exception during all entity identification checking checking", ex);
+    public List<Defect> findDefects(){
+        defects.clear();
+        checkCosts.clear();
+        indexCosts.clear();
+
+        List<DefectCheck<?>> enabledChecks = plan.getEnabledChecks();
+
+        prepareIndexes(enabledChecks);
+
+        CheckCost[] costs = new CheckCost[enabledChecks.size()];
+        if(Objects.isNull(executor)){
+            for(int i = 0; i < enabledChecks.size(); i++){
+                costs[i] = runCheck(enabledChecks.get(i), defects);
+            }
+        }
+        else{
+            List<CompletableFuture<List<Defect>>> results = new ArrayList<>(enabledChecks.size());
+            for(int i = 0; i < enabledChecks.size(); i++){
+                int position = i;
+                results.add(CompletableFuture.supplyAsync(() -> {
+                    List<Defect> found = new ArrayList<>(1);
+                    costs[position] = runCheck(enabledChecks.get(position), found);
+                    return found;
+                }, executor));
+            }
+
+            for(CompletableFuture<List<Defect>> result : results){
+                try{
+                    defects.addAll(result.join());
+                }
+                catch(CompletionException | CancellationException ex){
+                    log.log(Level.WARNING, "Error during concurrent defect checking!", ex);
+                }
+            }
+        }
+
+        for(int i = 0; i < enabledChecks.size(); i++){
+            if(Objects.nonNull(costs[i])){
+                checkCosts.put(enabledChecks.get(i).getDefectType(), costs[i]);
+            }
         }
+        return defects;
     }
 
     /**
-     * Checks if all multivalued attributes with cardinality on their Edge are proper multivalued attributes
-     * i.e. checking that the edge cardinality is not 1..1.
-     * Adds the resulting BasicDefect into the List of defects.
-     * Can be enabled or disabled in configuration.
-     * @see ConfigExtractor
+     * Freezes the diagram and builds the indexes required by given checks
+     * @param enabledChecks checks to be run
      */
-    private void checkIllegalMultivaluedAttribute(){
-        log.fine("Checking multivalued attribute legality");
-
-        DefectType defectType = DefectType.MULTIVALUED_ATTRIBUTE_ILLEGAL_CARDINALITY;
-
-        if(!extractor.isEnabledInConfig(defectType))   return;
+    private void prepareIndexes(List<DefectCheck<?>> enabledChecks){
+        Set<DiagramIndex> required = EnumSet.noneOf(DiagramIndex.class);
+        enabledChecks.forEach(check -> required.addAll(check.getRequiredIndexes()));
 
-        try{
-            ConfigValue value = extractor.getConfigValue(defectType);
-            defects.add(BasicDefectChecker.checkMultivaluedAttributes(diagram, defectType, value));
-        }
-        catch(RuntimeException ex){
-            log.log(Level.WARNING, "Error checking legality of multivalued attributes!", ex);
+        DiagramSnapshot snapshot = diagram.freeze();
+        for(DiagramIndex index : required){
+            long allocated = allocatedBytes();
+            long start = System.nanoTime();
+            try{
+                snapshot.prepare(index);
+            }
+            catch(RuntimeException ex){
+                log.log(Level.WARNING, String.format("Error building diagram index %s!", index), ex);
+            }
+            indexCosts.put(index, measure(start, allocated));
         }
     }
 
     /**
-     * For finding out if weak entities are properly identified by their composite key.
-     * Composite key must be comprised of connection to a relationship with 1..1 cardinality
-     * and an attribute.
-     * Adds the resulting BasicDefect into the List of defects.
-     * Can be enabled or disabled in configuration.
-     * @see ConfigExtractor
+     * Runs a single check and adds its defect into the given list
+     * @param check check to be run
+     * @param found list of defects
+     * @return cost of the check
      */
-    private void checkWeakEntities(){
-        log.log(Level.FINE, "Checking weak entities");
-
-        DefectType defectType = DefectType.WEAK_ENTITY_IDENTIFIED;
-
-        if(!extractor.isEnabledInConfig(defectType))   return;
+    private <V extends ConfigValue> CheckCost runCheck(DefectCheck<V> check, List<Defect> found){
+        DefectType defectType = check.getDefectType();
+        log.fine(String.format("Checking %s", defectType.getMessage()));
 
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
         try{
-            ConfigValue value = extractor.getConfigValue(defectType);
-            defects.add(BasicDefectChecker.checkWeakEntities(diagram, defectType, value));
+            V value = check.getConfigValueType().cast(plan.getConfigValue(defectType));
+            found.add(check.check(diagram, defectType, value));
         }
         catch(RuntimeException ex){
-            log.log(Level.WARNING, "Error checking identification of weak entities!", ex);
+            log.log(Level.WARNING, String.format("Error checking %s!", defectType.getMessage()), ex);
         }
+        CheckCost cost = measure(start, allocated);
 
+        log.fine(String.format("Checked %s in %s", defectType.getMessage(), cost));
+        return cost;
     }
 
-    /**
-     * For finding out if cardinalities are present where they should be.
-     * i.e. every Entity - Relationship edge.
-     * Adds the resulting BasicDefect into the List of defects.
-     * Can be enabled or disabled in configuration.
-     * @see ConfigExtractor
-     */
-    private void checkCardinalities(){
-        log.log(Level.FINE, "Checking edge cardinalities");
-
-        DefectType defectType = DefectType.CARDINALITIES_PRESENT;
-
-        if(!extractor.isEnabledInConfig(defectType))   return;
-
-        try{
-            ConfigValue value = extractor.getConfigValue(defectType);
-            defects.add(BasicDefectChecker.checkCardinalities(diagram, defectType, value));
-        }
-        catch(RuntimeException ex){
-            log.log(Level.WARNING, "Error checking presence of cardinalities on edges!", ex);
-        }
+    private static CheckCost measure(long start, long allocated){
+        long wallTime = System.nanoTime() - start;
+        return new CheckCost(wallTime, allocated < 0 ? -1 : allocatedBytes() - allocated);
     }
 
     /**
-     * For finding out if there are duplicate entity and relationship names in diagram.
-     * Adds the resulting BasicDefect into the List of defects.
-     * Can be enabled or disabled in configuration.
-     * @see ConfigExtractor
+     * @return bytes allocated by the current thread so far, -1 if not measured
      */
-    private void checkDuplicateNames(){
-        log.log(Level.FINE, "Checking duplicate names");
-
-        DefectType defectType = DefectType.NO_DUPLICATE_NAMES;
-
-        if(!extractor.isEnabledInConfig(defectType))   return;
-
-        try{
-            ConfigValue value = extractor.getConfigValue(defectType);
-            defects.add(BasicDefectChecker.checkDuplicateNames(diagram, defectType, value));
-        }
-        catch(RuntimeException ex){
-            log.log(Level.WARNING, "Error checking duplicate names!", ex);
-        }
-    }
-
-    /**
-     * For finding duplicate attribute names on one Entity or Relationship
-     * Adds the resulting BasicDefect into the List of defects.
-     * Can be enabled or disabled in configuration.
-     * @see ConfigExtractor
-     */
-    private void checkDuplicateAttributes(){
-        log.log(Level.FINE, "Checking duplicate attributes");
-
-        DefectType defectType = DefectType.NO_DUPLICATE_ATTRIBUTES;
-
-        if(!extractor.isEnabledInConfig(defectType))   return;
-
-        try{
-            ConfigValue value = extractor.getConfigValue(defectType);
-            defects.add(BasicDefectChecker.checkDuplicateAttributes(diagram, defectType, value));
-        }
-        catch(RuntimeException ex){
-            log.log(Level.WARNING, "Error checking duplicate attributes!", ex);
-        }
+    private static long allocatedBytes(){
+        return Objects.isNull(ALLOCATION_BEAN) ? -1 : ALLOCATION_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
     }
 
-    /**
-     * For finding out if every vertex is named.
-     * Adds the resulting BasicDefect into the List of defects.
-     * Can be enabled or disabled in configuration.
-     * @see ConfigExtractor
-     */
-    private void checkNamedVertices(){
-        log.log(Level.FINE, "Checking named vertices");
-
-        DefectType defectType = DefectType.NAMED_VERTICES;
-
-        if(!extractor.isEnabledInConfig(defectType))   return;
-
-        try{
-            ConfigValue value = extractor.getConfigValue(defectType);
-            defects.add(BasicDefectChecker.checkNamedVertices(diagram, defectType, value));
-        }
-        catch(RuntimeException ex){
-            log.log(Level.WARNING, "Error checking named vertices!", ex);
+    private static com.sun.management.ThreadMXBean allocationBean(){
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if(bean instanceof com.sun.management.ThreadMXBean){
+            com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) bean;
+            if(allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled()){
+                return allocationBean;
+            }
         }
+        return null;
     }
-
 }
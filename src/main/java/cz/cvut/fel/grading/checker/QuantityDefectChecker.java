@@ -6,7 +6,7 @@ import cz.cvut.fel.grading.defect.Defect;
 import cz.cvut.fel.grading.defect.QuantityDefect;
 import cz.cvut.fel.enums.DefectType;
 import cz.cvut.fel.exception.ConfigurationException;
-import cz.cvut.fel.model.*;
+import cz.cvut.fel.model.Diagram;
 
 import java.util.function.Supplier;
 
@@ -14,6 +14,7 @@ import java.util.function.Supplier;
  * Class QuantityDefectChecker is aggregation of static methods
  * that perform checks on a Diagram,
  * which produce QuantityDefects as a result.
+ * Counts are read from DiagramStatistics gathered once per frozen diagram.
  * @author Adam Skarda
  */
 public class QuantityDefectChecker {
@@ -74,11 +75,7 @@ public class QuantityDefectChecker {
     public static Defect checkMultivaluedAttributeCount(Diagram diagram, DefectType defectType,
                                                         QuantityConfigValue value) throws ConfigurationException{
 
-        Supplier<Long> actualCount = () -> diagram.getEdges()
-                .stream()
-                .filter(Edge::isAttributeConnection)
-                .filter(Edge::hasCardinality)
-                .count();
+        Supplier<Long> actualCount = () -> (long) diagram.freeze().getStatistics().getMultivaluedAttributeCount();
 
         return quantityDefectTemplate(defectType, value, actualCount);
     }
@@ -94,9 +91,7 @@ public class QuantityDefectChecker {
     public static Defect checkEntityCount(Diagram diagram, DefectType defectType,
                                                 QuantityConfigValue value) throws ConfigurationException{
 
-        Supplier<Long> actualCount = ()-> diagram.getVertices().stream()
-                    .filter(Vertex::isEntity)
-                    .count();
+        Supplier<Long> actualCount = () -> (long) diagram.freeze().getStatistics().getEntityCount();
 
         return quantityDefectTemplate(defectType, value, actualCount);
     }
@@ -111,7 +106,7 @@ public class QuantityDefectChecker {
      */
     public static Defect checkRelationshipCount(Diagram diagram, DefectType defectType,
                                                 QuantityConfigValue value) throws ConfigurationException{
-        Supplier<Long> actualCount = () -> (long) diagram.getRelationships().size();
+        Supplier<Long> actualCount = () -> (long) diagram.freeze().getStatistics().getRelationshipCount();
 
         return quantityDefectTemplate(defectType, value, actualCount);
     }
@@ -126,9 +121,7 @@ public class QuantityDefectChecker {
      */
     public static Defect checkRecursiveRelationshipCount(Diagram diagram, DefectType defectType,
                                                          QuantityConfigValue value) throws ConfigurationException{
-        Supplier<Long> actualCount = () -> diagram.getRelationships().stream()
-                .filter(Relationship::isRecursive)
-                .count();
+        Supplier<Long> actualCount = () -> (long) diagram.freeze().getStatistics().getRecursiveRelationshipCount();
 
         return quantityDefectTemplate(defectType, value, actualCount);
     }
@@ -143,13 +136,7 @@ public class QuantityDefectChecker {
      */
     public static Defect checkStructuredAttributeCount(Diagram diagram, DefectType defectType,
                                                        QuantityConfigValue value) throws ConfigurationException{
-        Supplier<Long> actualCount = () -> diagram.getAttributes().stream()
-                .filter(attribute ->
-                        attribute.getAdjacentVertices().stream()
-                                .anyMatch(vertex -> vertex.isEntity() || vertex.isRelationship()))
-                .filter(attribute -> attribute.getAdjacentVertices().stream()
-                        .anyMatch(Vertex::isAttribute))
-                .count();
+        Supplier<Long> actualCount = () -> (long) diagram.freeze().getStatistics().getStructuredAttributeCount();
 
         return quantityDefectTemplate(defectType, value, actualCount);
     }
@@ -164,14 +151,13 @@ public class QuantityDefectChecker {
      */
     public static Defect checkAttributeCount(Diagram diagram, DefectType defectType,
                                              QuantityConfigValue value) throws ConfigurationException{
-        Supplier<Long> actualCount = () -> (long) diagram.getAttributes().size();
+        Supplier<Long> actualCount = () -> (long) diagram.freeze().getStatistics().getAttributeCount();
 
         return quantityDefectTemplate(defectType, value, actualCount);
     }
 
     /**
-     * Counts the number of N-ary relationships in a given diagram.
-     * N-arity of a relationship is given by configuration.
+     * Counts the number of weak entities in a given diagram.
      * @param diagram Diagram to be checked for occurrences
      * @param defectType Type of defect checked
      * @param value configuration value for this check
@@ -180,16 +166,14 @@ public class QuantityDefectChecker {
      */
     public static Defect checkWeakEntityCount(Diagram diagram, DefectType defectType,
                                               QuantityConfigValue value) throws ConfigurationException{
-        Supplier<Long> actual = () ->
-                diagram.getEntities().stream()
-                        .filter(Entity::getIsWeak)
-                        .count();
+        Supplier<Long> actual = () -> (long) diagram.freeze().getStatistics().getWeakEntityCount();
 
         return quantityDefectTemplate(defectType, value, actual);
     }
 
     /**
-     *
+     * Counts the number of N-ary relationships in a given diagram.
+     * N-arity of a relationship is given by configuration.
      * @param diagram Diagram to be checked for occurrences
      * @param defectType Type of defect checked
      * @param value configuration value for this check
@@ -211,12 +195,7 @@ public class QuantityDefectChecker {
             throw new ConfigurationException(info.toString());
         }
 
-        long actualCount = diagram.getRelationships().stream()
-                .filter(relationship ->
-                        value.getEdges() <= relationship.getAdjacentVertices().stream()
-                            .filter(Vertex::isEntity)
-                            .distinct().count())
-                .count();
+        long actualCount = diagram.freeze().getStatistics().getNaryRelationshipCount(value.getEdges());
 
         if(actualCount < expectedMin || actualCount > expectedMax){
             info.append(String.format("Counting relationships with at least %s edges.", value.getEdges()));
@@ -249,9 +228,7 @@ public class QuantityDefectChecker {
      */
     public static Defect checkMultipleIdentificationsCount(Diagram diagram, DefectType defectType,
                                                            QuantityConfigValue value) throws ConfigurationException{
-        Supplier<Long> actualCount = () -> diagram.getEntities().stream()
-                .filter(entity -> entity.getKeys().size() > 1)
-                .count();
+        Supplier<Long> actualCount = () -> (long) diagram.freeze().getStatistics().getMultipleIdentifierCount();
 
         return quantityDefectTemplate(defectType, value, actualCount);
     }
@@ -266,21 +243,14 @@ public class QuantityDefectChecker {
      */
     public static Defect checkCompositeCount(Diagram diagram, DefectType defectType,
                                              QuantityConfigValue value) throws ConfigurationException{
-        Supplier<Long> actual = () ->
-                (long) diagram.getComposites().size()
-                +
-                diagram.getAttributes().stream()
-                        .filter(Attribute::isStructured)
-                        .filter(Attribute::getIsKey)
-                        .filter(Attribute::isSimple)
-                        .count();
+        Supplier<Long> actual = () -> (long) diagram.freeze().getStatistics().getCompositeCount();
 
         return quantityDefectTemplate(defectType, value, actual);
     }
 
     /**
      * Counts the number of Hierarchies in a given diagram.
-     * More specifically counts the number of ancestors.
+     * More specifically counts the number of ancestors with at least one generalization edge.
      * @param diagram Diagram to be checked for occurrences
      * @param defectType Type of defect checked
      * @param value configuration value for this check
@@ -289,11 +259,7 @@ public class QuantityDefectChecker {
      */
     public static Defect checkHierarchyCount(Diagram diagram, DefectType defectType,
                                              QuantityConfigValue value) throws ConfigurationException{
-        Supplier<Long> actualCount = () -> diagram.getEdges().stream()
-                .filter(Edge::isGeneralization)
-                .map(Edge::getTarget)
-                .distinct()
-                .count();
+        Supplier<Long> actualCount = () -> (long) diagram.freeze().getStatistics().getHierarchyCount();
 
         return quantityDefectTemplate(defectType, value, actualCount);
     }
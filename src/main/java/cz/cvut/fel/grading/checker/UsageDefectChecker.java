@@ -6,16 +6,19 @@ import cz.cvut.fel.grading.configuration.value.HierarchyPairUsageConfigValue;
 import cz.cvut.fel.grading.defect.Defect;
 import cz.cvut.fel.grading.defect.UsageDefect;
 import cz.cvut.fel.grading.struct.CardinalityPair;
+import cz.cvut.fel.grading.struct.CardinalityPairSet;
 import cz.cvut.fel.grading.struct.HierarchyPair;
 import cz.cvut.fel.enums.Cardinality;
 import cz.cvut.fel.enums.DefectType;
 import lombok.extern.java.Log;
-import cz.cvut.fel.model.Edge;
 import cz.cvut.fel.model.Diagram;
-import cz.cvut.fel.model.Generalization;
+import cz.cvut.fel.model.DiagramSnapshot;
+import cz.cvut.fel.model.HierarchyIndex;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -41,18 +44,10 @@ public class UsageDefectChecker {
 
         var resultingDefectBuilder = UsageDefect.<Cardinality>usageBuilder();
 
-        List<Cardinality> expectedCardinalities = value.getExpected();
+        EnumSet<Cardinality> presentCardinalities = presentCardinalities(diagram.freeze(),
+                DiagramSnapshot.RELATIONSHIP_CONNECTION);
 
-        List<Cardinality> presentCardinalities = diagram.getEdges().stream()
-                .filter(Edge::isRelationshipConnection)
-                .filter(Edge::hasCardinality)
-                .map(Edge::getCardinality)
-                .distinct()
-                .collect(Collectors.toList());
-
-        List<Cardinality> missingCardinalities = expectedCardinalities.stream()
-                .filter(cardinality -> !presentCardinalities.contains(cardinality))
-                .collect(Collectors.toList());
+        EnumSet<Cardinality> missingCardinalities = value.getMissing(presentCardinalities);
 
         if(!missingCardinalities.isEmpty()){
             info.append(String.format("Missing cardinalities: %s", missingCardinalities));
@@ -66,11 +61,27 @@ public class UsageDefectChecker {
                 .present(defectPresence)
                 .points(taskPoints)
                 .additionalInfo(info.toString())
-                .expected(expectedCardinalities)
-                .actual(presentCardinalities)
+                .expected(new ArrayList<>(value.getExpected()))
+                .actual(new ArrayList<>(presentCardinalities))
                 .build();
     }
 
+    /**
+     * Collects recognized cardinalities of diagram edges of the given kind
+     * @param snapshot frozen diagram
+     * @param edgeKind DiagramSnapshot edge kind flag
+     * @return set of cardinalities
+     */
+    private static EnumSet<Cardinality> presentCardinalities(DiagramSnapshot snapshot, byte edgeKind){
+        EnumSet<Cardinality> present = EnumSet.noneOf(Cardinality.class);
+        for(int edge = 0; edge < snapshot.getEdgeCount(); edge++){
+            if(snapshot.hasEdgeKind(edge, edgeKind) && snapshot.hasCardinality(edge)){
+                present.add(snapshot.getCardinality(edge));
+            }
+        }
+        return present;
+    }
+
     /**
      * Checks the uses of CardinalityPairs i.e. pairs of cardinalities connecting
      * two entities through a relationship in comparison to expected uses.
@@ -86,29 +97,31 @@ public class UsageDefectChecker {
 
         var resultingDefectBuilder = UsageDefect.<CardinalityPair>usageBuilder();
 
-        List<CardinalityPair> expected = value.getExpected();
-
-
-        List<CardinalityPair> allPairs = diagram.getRelationships().stream()
-                .map(relationship -> {
-                    List<Cardinality> cardinalities = relationship.getEdges().stream()
-                            .filter(Edge::isRelationshipConnection)
-                            .map(Edge::getCardinality)
-                            .distinct()
-                            .collect(Collectors.toList());
-
-                    return CardinalityPair.fromCardinalityList(cardinalities);
-                })
-                .reduce(new ArrayList<>(), (finalList, partial)->{finalList.addAll(partial);
-                    return finalList;});
-
-        List<CardinalityPair> actual = allPairs.stream()
-                .distinct()
-                .collect(Collectors.toList());
+        CardinalityPairSet expected = value.getExpected();
+
+        //every two connections of a relationship form a pair, a connection is paired with itself as well
+        DiagramSnapshot snapshot = diagram.freeze();
+        CardinalityPairSet.Builder actualBuilder = CardinalityPairSet.builder();
+        for(int vertex = 0; vertex < snapshot.getVertexCount(); vertex++){
+            if(!snapshot.isRelationship(vertex)){
+                continue;
+            }
+            for(int first = snapshot.getAdjacencyStart(vertex); first < snapshot.getAdjacencyEnd(vertex); first++){
+                int firstEdge = snapshot.getAdjacentEdge(first);
+                if(!snapshot.isRelationshipConnection(firstEdge)){
+                    continue;
+                }
+                for(int second = first; second < snapshot.getAdjacencyEnd(vertex); second++){
+                    int secondEdge = snapshot.getAdjacentEdge(second);
+                    if(snapshot.isRelationshipConnection(secondEdge)){
+                        actualBuilder.add(pairedCardinality(snapshot, firstEdge), pairedCardinality(snapshot, secondEdge));
+                    }
+                }
+            }
+        }
 
-        List<CardinalityPair> missingCardinalities = expected.stream()
-                .filter(pair -> !actual.contains(pair))
-                .collect(Collectors.toList());
+        CardinalityPairSet actual = actualBuilder.build();
+        CardinalityPairSet missingCardinalities = expected.without(actual);
 
         if(!missingCardinalities.isEmpty()){
             info.append(String.format("Missing cardinality pairs: %s", missingCardinalities));
@@ -122,11 +135,18 @@ public class UsageDefectChecker {
                 .present(defectPresence)
                 .points(taskPoints)
                 .additionalInfo(info.toString())
-                .expected(expected)
-                .actual(actual)
+                .expected(expected.toList())
+                .actual(actual.toList())
                 .build();
     }
 
+    /**
+     * Connections without any cardinality are paired as NO_CARDINALITY
+     */
+    private static Cardinality pairedCardinality(DiagramSnapshot snapshot, int edge){
+        return Objects.requireNonNullElse(snapshot.getCardinality(edge), Cardinality.NO_CARDINALITY);
+    }
+
 
     /**
      * Checks hierarchy type usages in a given diagram in comparison
@@ -146,12 +166,16 @@ public class UsageDefectChecker {
 
         List<HierarchyPair> expected = value.getExpected();
 
-        List<HierarchyPair> actual = diagram.getEdges().stream()
-                .filter(Edge::isGeneralization)
-                .map(edge -> (Generalization)edge)
-                .map(gen -> new HierarchyPair(gen.getCoverage(), gen.getDisjointness()))
-                .distinct()
-                .collect(Collectors.toList());
+        HierarchyIndex hierarchies = diagram.freeze().getHierarchies();
+        List<HierarchyPair> actual = new ArrayList<>();
+
+        for(int hierarchy = 0; hierarchy < hierarchies.getHierarchyCount(); hierarchy++){
+            HierarchyPair pair = new HierarchyPair(hierarchies.getCoverage(hierarchy),
+                    hierarchies.getDisjointness(hierarchy));
+            if(!actual.contains(pair)){
+                actual.add(pair);
+            }
+        }
 
         List<HierarchyPair> missing = expected.stream()
                 .filter(hierarchyPair -> !actual.contains(hierarchyPair))
@@ -190,21 +214,16 @@ public class UsageDefectChecker {
 
         var resultingDefectBuilder = UsageDefect.<Cardinality>usageBuilder();
 
-        List<Cardinality> expectedCardinalities = value.getExpected();
+        EnumSet<Cardinality> expectedCardinalities = value.getExpected();
 
         //Remove 1..1 cardinality as that is not a legal multivalued attribute
         expectedCardinalities.remove(Cardinality.ONE);
 
-        List<Cardinality> presentCardinalities = diagram.getEdges().stream()
-                .filter(Edge::isAttributeConnection)
-                .filter(Edge::hasCardinality)
-                .map(Edge::getCardinality)
-                .distinct()
-                .collect(Collectors.toList());
+        EnumSet<Cardinality> presentCardinalities = presentCardinalities(diagram.freeze(),
+                DiagramSnapshot.ATTRIBUTE_CONNECTION);
 
-        List<Cardinality> missingCardinalities = expectedCardinalities.stream()
-                .filter(cardinality -> !presentCardinalities.contains(cardinality))
-                .collect(Collectors.toList());
+        EnumSet<Cardinality> missingCardinalities = EnumSet.copyOf(expectedCardinalities);
+        missingCardinalities.removeAll(presentCardinalities);
 
         if(!missingCardinalities.isEmpty()){
             info.append(String.format("Missing cardinalities: %s", missingCardinalities));
@@ -218,8 +237,8 @@ public class UsageDefectChecker {
                 .present(defectPresence)
                 .points(taskPoints)
                 .additionalInfo(info.toString())
-                .expected(expectedCardinalities)
-                .actual(presentCardinalities)
+                .expected(new ArrayList<>(expectedCardinalities))
+                .actual(new ArrayList<>(presentCardinalities))
                 .build();
     }
 }
@@ -1,7 +1,7 @@
 package cz.cvut.fel.grading.configuration;
 
 import cz.cvut.fel.grading.configuration.value.*;
-import cz.cvut.fel.grading.struct.CardinalityPair;
+import cz.cvut.fel.grading.struct.CardinalityPairSet;
 import cz.cvut.fel.grading.struct.HierarchyPair;
 import cz.cvut.fel.enums.Cardinality;
 import cz.cvut.fel.enums.Coverage;
@@ -39,18 +39,13 @@ public class ConfigExtractor {
      * Checks if given configuration key is enabled.
      *
      * @param defectType Defect to be checked if its enabled
-     * @return True if key is not present, or its value is not equal to disable string
+     * @return True if the value, or the default value of a missing key, is not equal to disable string
      */
     public boolean isEnabledInConfig(DefectType defectType){
-        String key = defectType.getConfigKey();
-        String value = configuration.getProperty(key);
+        String value = configuration.getProperty(defectType.getConfigKey(), defectType.getDefaultValue());
 
-        if(Objects.isNull(value)){
-            return true;
-        }
-
-        return !configuration.getProperty(key).isBlank() &&
-                !configuration.getProperty(key).strip().equalsIgnoreCase(confKeyDisableString);
+        return !value.isBlank() &&
+                !value.strip().equalsIgnoreCase(confKeyDisableString);
     }
 
     /**
@@ -157,21 +152,16 @@ public class ConfigExtractor {
      * @param values configuration CardinalityPair enumeration to be parsed
      * @return Cardinality pairs set by configuration
      * @throws ConfigurationException if a parsed Cardinality is not recognized
-     * @see CardinalityPair
+     * @see CardinalityPairSet
      */
-    private List<CardinalityPair> getCardinalityPairsFromValues(List<String> values) throws ConfigurationException{
-        List<Cardinality> cardinalities = new LinkedList<>();
-            cardinalities.add(Cardinality.ZERO_TO_ONE);
-            cardinalities.add(Cardinality.ONE);
-            cardinalities.add(Cardinality.ONE_TO_MANY);
-            cardinalities.add(Cardinality.ZERO_TO_MANY);
-
-        List<CardinalityPair> pairs = new LinkedList<>();
-
+    private CardinalityPairSet getCardinalityPairsFromValues(List<String> values) throws ConfigurationException{
         if(values.get(0).equalsIgnoreCase(confCardinalityAll)){
-            return CardinalityPair.fromCardinalityList(cardinalities);
+            return CardinalityPairSet.allPairsOf(EnumSet.of(Cardinality.ZERO_TO_ONE, Cardinality.ONE,
+                    Cardinality.ONE_TO_MANY, Cardinality.ZERO_TO_MANY));
         }
 
+        CardinalityPairSet.Builder pairs = CardinalityPairSet.builder();
+
         for(String val : values){
             String[] cardinalityString = val.split(confPairSeparator);
             Cardinality first = Cardinality.decideCardinality(cardinalityString[0]);
@@ -181,10 +171,10 @@ public class ConfigExtractor {
                 throw new ConfigurationException(String.format("Cardinality pair %s not recognized", val));
             }
 
-            pairs.add(new CardinalityPair(first, second));
+            pairs.add(first, second);
         }
 
-        return pairs;
+        return pairs.build();
     }
 
     /**
@@ -230,8 +220,8 @@ public class ConfigExtractor {
      * @return types of cardinalities present
      * @throws ConfigurationException if values contain not recognized cardinality
      */
-    private List<Cardinality> getCardinalitiesFromValues(List<String> values) throws ConfigurationException{
-        List<Cardinality> cardinalities = new LinkedList<>();
+    private EnumSet<Cardinality> getCardinalitiesFromValues(List<String> values) throws ConfigurationException{
+        EnumSet<Cardinality> cardinalities = EnumSet.noneOf(Cardinality.class);
 
         if(values.get(0).equalsIgnoreCase(confCardinalityAll)){
             cardinalities.add(Cardinality.ZERO_TO_ONE);
@@ -249,8 +239,7 @@ public class ConfigExtractor {
             cardinalities.add(cardinality);
         }
 
-        return cardinalities.stream()
-                .filter(cardinality -> cardinality.equals(Cardinality.NO_CARDINALITY))
-                .distinct().collect(Collectors.toList());
+        cardinalities.remove(Cardinality.NO_CARDINALITY);
+        return cardinalities;
     }
 }
@@ -0,0 +1,111 @@
+package cz.cvut.fel.grading.configuration;
+
+import cz.cvut.fel.enums.DefectType;
+import cz.cvut.fel.exception.ConfigurationException;
+import cz.cvut.fel.grading.checker.DefectCheck;
+import cz.cvut.fel.grading.checker.DefectCheckRegistry;
+import cz.cvut.fel.grading.configuration.value.ConfigValue;
+
+import java.util.*;
+
+/**
+ * Class GradingPlan is a configuration compiled for grading.
+ * Configuration values of all enabled defect types are extracted and validated once,
+ * so a single plan can grade any number of diagrams.
+ * The plan is immutable and may be shared by graders running in multiple threads.
+ *
+ * @author Adam Skarda
+ * @see GradingPlanCache
+ * @see cz.cvut.fel.grading.checker.DefectChecker
+ */
+public final class GradingPlan {
+    /**
+     * Configuration values of enabled defect types
+     */
+    private final Map<DefectType, ConfigValue> values;
+
+    /**
+     * Enabled checks in the order of their defects in grading output
+     */
+    private final List<DefectCheck<?>> enabledChecks;
+
+    private GradingPlan(Map<DefectType, ConfigValue> values, List<DefectCheck<?>> enabledChecks){
+        this.values = values;
+        this.enabledChecks = Collections.unmodifiableList(enabledChecks);
+    }
+
+    /**
+     * Compiles configuration with the default check registry
+     * @param configuration Properties object containing defect configuration
+     * @return compiled plan
+     * @throws ConfigurationException describing every invalid configuration value
+     */
+    public static GradingPlan compile(Properties configuration){
+        return compile(new ConfigExtractor(configuration), DefectCheckRegistry.getDefault());
+    }
+
+    /**
+     * Compiles configuration for given checks.
+     * All enabled configuration values are validated before failing.
+     * @param extractor Configuration for used defects
+     * @param registry checks to be run
+     * @return compiled plan
+     * @throws ConfigurationException describing every invalid configuration value
+     */
+    public static GradingPlan compile(ConfigExtractor extractor, DefectCheckRegistry registry){
+        Map<DefectType, ConfigValue> values = new EnumMap<>(DefectType.class);
+        List<DefectCheck<?>> enabledChecks = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+
+        for(DefectCheck<?> check : registry.getChecks()){
+            DefectType defectType = check.getDefectType();
+            if(!extractor.isEnabledInConfig(defectType)){
+                continue;
+            }
+
+            try{
+                ConfigValue value = extractor.getConfigValue(defectType);
+                if(!check.getConfigValueType().isInstance(value)){
+                    throw new ConfigurationException(String.format("%s expected, got %s",
+                            check.getConfigValueType().getSimpleName(), value.getClass().getSimpleName()));
+                }
+                values.put(defectType, value);
+                enabledChecks.add(check);
+            }
+            catch(RuntimeException ex){
+                errors.add(String.format("%s: %s", defectType.getConfigKey(),
+                        ex instanceof ConfigurationException ? ex.getMessage() : ex.toString()));
+            }
+        }
+
+        if(!errors.isEmpty()){
+            throw new ConfigurationException(String.format("Invalid configuration values:%n\t%s",
+                    String.join(String.format("%n\t"), errors)));
+        }
+
+        return new GradingPlan(values, enabledChecks);
+    }
+
+    /**
+     * @param defectType checked defect type
+     * @return true if the defect type is checked
+     */
+    public boolean isEnabled(DefectType defectType){
+        return values.containsKey(defectType);
+    }
+
+    /**
+     * @param defectType checked defect type
+     * @return configuration value of an enabled defect type, null if disabled
+     */
+    public ConfigValue getConfigValue(DefectType defectType){
+        return values.get(defectType);
+    }
+
+    /**
+     * @return read-only list of enabled checks in the order of their defects in grading output
+     */
+    public List<DefectCheck<?>> getEnabledChecks(){
+        return enabledChecks;
+    }
+}
@@ -0,0 +1,96 @@
+package cz.cvut.fel.grading.configuration;
+
+import lombok.extern.java.Log;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+
+/**
+ * Class GradingPlanCache compiles configuration files into GradingPlans and keeps them.
+ * A plan is reused as long as its file has the same modification time,
+ * a touched file with unchanged content keeps its plan as well.
+ * Safe to be used from multiple threads.
+ *
+ * @author Adam Skarda
+ * @see GradingPlan
+ */
+@Log
+public final class GradingPlanCache {
+
+    /**
+     * Compiled plan of a file together with the file state it was compiled from
+     */
+    private static final class Entry {
+        private final FileTime modified;
+        private final byte[] hash;
+        private final GradingPlan plan;
+
+        private Entry(FileTime modified, byte[] hash, GradingPlan plan){
+            this.modified = modified;
+            this.hash = hash;
+            this.plan = plan;
+        }
+    }
+
+    private static final ConcurrentMap<Path, Entry> plans = new ConcurrentHashMap<>();
+
+    private GradingPlanCache(){
+    }
+
+    /**
+     * Gets the plan of a configuration file, compiling it if the file is new or has changed
+     * @param path path to configuration file
+     * @return compiled plan
+     * @throws IOException when there is exception reading the file
+     * @throws cz.cvut.fel.exception.ConfigurationException describing every invalid configuration value
+     */
+    public static GradingPlan get(Path path) throws IOException{
+        Path key = path.toAbsolutePath().normalize();
+        FileTime modified = Files.getLastModifiedTime(key);
+        Entry cached = plans.get(key);
+        if(Objects.nonNull(cached) && cached.modified.equals(modified)){
+            return cached.plan;
+        }
+
+        byte[] content = Files.readAllBytes(key);
+        byte[] hash = hash(content);
+        if(Objects.nonNull(cached) && Arrays.equals(cached.hash, hash)){
+            plans.put(key, new Entry(modified, hash, cached.plan));
+            return cached.plan;
+        }
+
+        log.log(Level.FINE, String.format("Compiling configuration %s", key));
+        Properties properties = new Properties();
+        properties.load(new ByteArrayInputStream(content));
+        GradingPlan plan = GradingPlan.compile(properties);
+        plans.put(key, new Entry(modified, hash, plan));
+        return plan;
+    }
+
+    /**
+     * Drops all compiled plans
+     */
+    public static void clear(){
+        plans.clear();
+    }
+
+    private static byte[] hash(byte[] content){
+        try{
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        }
+        catch(NoSuchAlgorithmException ex){
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
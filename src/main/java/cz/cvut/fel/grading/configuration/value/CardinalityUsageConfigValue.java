@@ -1,24 +1,42 @@
 package cz.cvut.fel.grading.configuration.value;
 
 import cz.cvut.fel.enums.Cardinality;
-import lombok.Getter;
 
-import java.util.List;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * Class specifying configuration values for CardinalityUsageDefects.
+ * Expected Cardinalities are kept as an EnumSet, so usage checks reduce to set differences.
  */
-@Getter
 public class CardinalityUsageConfigValue extends ConfigValue{
-    private final List<Cardinality> expected;
+    private final EnumSet<Cardinality> expected;
 
     /**
      * Basic constructor
      * @param points Number of points awarded on success
      * @param expected Expected Cardinalities in diagram
      */
-    public CardinalityUsageConfigValue(float points, List<Cardinality> expected) {
+    public CardinalityUsageConfigValue(float points, Collection<Cardinality> expected) {
         super(points);
-        this.expected = expected;
+        this.expected = expected.isEmpty() ? EnumSet.noneOf(Cardinality.class) : EnumSet.copyOf(expected);
+    }
+
+    /**
+     * @return copy of expected Cardinalities, the configuration value itself is never modified
+     */
+    public EnumSet<Cardinality> getExpected() {
+        return EnumSet.copyOf(expected);
+    }
+
+    /**
+     * @param present Cardinalities used in diagram
+     * @return expected Cardinalities not present in diagram
+     */
+    public EnumSet<Cardinality> getMissing(Set<Cardinality> present) {
+        EnumSet<Cardinality> missing = EnumSet.copyOf(expected);
+        missing.removeAll(present);
+        return missing;
     }
 }
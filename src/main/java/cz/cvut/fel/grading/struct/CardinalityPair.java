@@ -65,7 +65,8 @@ public class CardinalityPair {
 
     @Override
     public int hashCode() {
-        return Objects.hash(first, second);
+        //symmetric as pairs are unordered
+        return Objects.hashCode(first) + Objects.hashCode(second);
     }
 
     @Override
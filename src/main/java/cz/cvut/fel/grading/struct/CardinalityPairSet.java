@@ -0,0 +1,141 @@
+package cz.cvut.fel.grading.struct;
+
+import cz.cvut.fel.enums.Cardinality;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable set of CardinalityPairs.
+ * Pairs are unordered, every pair of Cardinality constants has its own bit
+ * of a single long, so set operations are plain bitwise operations.
+ * @author Adam Skarda
+ * @see CardinalityPair
+ */
+public final class CardinalityPairSet {
+    private static final Cardinality[] CARDINALITIES = Cardinality.values();
+
+    private static final CardinalityPairSet EMPTY = new CardinalityPairSet(0L);
+
+    private final long pairs;
+
+    private CardinalityPairSet(long pairs){
+        this.pairs = pairs;
+    }
+
+    /**
+     * Bit of an unordered pair in the upper triangle of the Cardinality matrix
+     */
+    private static long bit(Cardinality first, Cardinality second){
+        int low = Math.min(first.ordinal(), second.ordinal());
+        int high = Math.max(first.ordinal(), second.ordinal());
+        return 1L << (low * CARDINALITIES.length + high);
+    }
+
+    public static CardinalityPairSet empty(){
+        return EMPTY;
+    }
+
+    /**
+     * @param pairs pairs in any order, duplicates are ignored
+     * @return set of the given pairs
+     */
+    public static CardinalityPairSet of(Collection<CardinalityPair> pairs){
+        Builder builder = builder();
+        pairs.forEach(pair -> builder.add(pair.getFirst(), pair.getSecond()));
+        return builder.build();
+    }
+
+    /**
+     * Creates all possible non-repeating pairs from given cardinalities.
+     * Where a pair can be reflexive i.e. 0..1 and 0..1 is also a pair.
+     * @param cardinalities cardinalities to be paired
+     * @return set of all pairs of the given cardinalities
+     */
+    public static CardinalityPairSet allPairsOf(Set<Cardinality> cardinalities){
+        Builder builder = builder();
+        for(Cardinality first : cardinalities){
+            for(Cardinality second : cardinalities){
+                builder.add(first, second);
+            }
+        }
+        return builder.build();
+    }
+
+    public static Builder builder(){
+        return new Builder();
+    }
+
+    public boolean contains(Cardinality first, Cardinality second){
+        return (pairs & bit(first, second)) != 0;
+    }
+
+    public boolean isEmpty(){
+        return pairs == 0L;
+    }
+
+    public int size(){
+        return Long.bitCount(pairs);
+    }
+
+    /**
+     * @return pairs present in this set and not in the other one
+     */
+    public CardinalityPairSet without(CardinalityPairSet other){
+        return new CardinalityPairSet(pairs & ~other.pairs);
+    }
+
+    /**
+     * @return list of the pairs ordered by the Cardinality declaration order
+     */
+    public List<CardinalityPair> toList(){
+        List<CardinalityPair> list = new ArrayList<>(size());
+        for(int first = 0; first < CARDINALITIES.length; first++){
+            for(int second = first; second < CARDINALITIES.length; second++){
+                if(contains(CARDINALITIES[first], CARDINALITIES[second])){
+                    list.add(new CardinalityPair(CARDINALITIES[first], CARDINALITIES[second]));
+                }
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public boolean equals(Object o){
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return pairs == ((CardinalityPairSet) o).pairs;
+    }
+
+    @Override
+    public int hashCode(){
+        return Objects.hash(pairs);
+    }
+
+    @Override
+    public String toString(){
+        return toList().toString();
+    }
+
+    /**
+     * Mutable accumulator of pairs, adding a pair does not allocate.
+     */
+    public static final class Builder {
+        private long pairs;
+
+        private Builder(){
+        }
+
+        public Builder add(Cardinality first, Cardinality second){
+            pairs |= bit(first, second);
+            return this;
+        }
+
+        public CardinalityPairSet build(){
+            return pairs == 0L ? EMPTY : new CardinalityPairSet(pairs);
+        }
+    }
+}
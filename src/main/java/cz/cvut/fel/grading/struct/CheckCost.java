@@ -0,0 +1,33 @@
+package cz.cvut.fel.grading.struct;
+
+import lombok.Getter;
+
+/**
+ * Class CheckCost describes the cost of a single defect check
+ * or of building a diagram index during grading.
+ * @author Adam Skarda
+ * @see cz.cvut.fel.grading.checker.DefectChecker
+ */
+@Getter
+public class CheckCost {
+    /**
+     * Elapsed wall clock time in nanoseconds
+     */
+    private final long wallTimeNanos;
+
+    /**
+     * Bytes allocated by the thread running the check, -1 if the JVM does not measure allocations
+     */
+    private final long allocatedBytes;
+
+    public CheckCost(long wallTimeNanos, long allocatedBytes) {
+        this.wallTimeNanos = wallTimeNanos;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%.3f ms, %s", wallTimeNanos / 1_000_000.0,
+                allocatedBytes < 0 ? "allocations not measured" : allocatedBytes + " B allocated");
+    }
+}
@@ -13,9 +13,9 @@ import java.util.*;
 @Getter
 public class Composite implements Key, DiagramComponent {
     /**
-     * Edges and members of composite key.
+     * Edges and members of composite key in the order they were added.
      */
-    private final HashMap<Edge, Vertex> compositeMembers = new HashMap<>();
+    private final LinkedHashMap<Edge, Vertex> compositeMembers = new LinkedHashMap<>();
     /**
      * Entity identified by this composite identifier.
      */
@@ -1,7 +1,6 @@
 package cz.cvut.fel.model;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * The Diagram class is an aggregator of all Entity-Relationship components.
@@ -12,21 +11,80 @@ public class Diagram {
     /**
      * Diagram Entities, Relationships, Attributes
      */
-    private final List<Vertex> vertices = new LinkedList<>();
+    private final List<Vertex> vertices = new ArrayList<>();
 
     /**
      * Diagram edges between vertices
      */
-    private final List<Edge> edges = new LinkedList<>();
+    private final List<Edge> edges = new ArrayList<>();
 
     /**
      * Diagram composite identifiers of entities
      */
-    private final List<Composite> composites = new LinkedList<>();
+    private final List<Composite> composites = new ArrayList<>();
+
+    /**
+     * Diagram vertices by their kind, kept up to date by addVertex
+     */
+    private final List<Entity> entities = new ArrayList<>();
+    private final List<Attribute> attributes = new ArrayList<>();
+    private final List<Relationship> relationships = new ArrayList<>();
+
+    /**
+     * Read-only views handed out by getters
+     */
+    private final List<Vertex> verticesView = Collections.unmodifiableList(vertices);
+    private final List<Edge> edgesView = Collections.unmodifiableList(edges);
+    private final List<Composite> compositesView = Collections.unmodifiableList(composites);
+    private final List<Entity> entitiesView = Collections.unmodifiableList(entities);
+    private final List<Attribute> attributesView = Collections.unmodifiableList(attributes);
+    private final List<Relationship> relationshipsView = Collections.unmodifiableList(relationships);
+
+    /**
+     * Diagram vertices indexed by their id, first added vertex wins
+     */
+    private final Map<String, Vertex> verticesById = new HashMap<>();
+
+    /**
+     * Diagram edges indexed by their id, first added edge wins
+     */
+    private final Map<String, Edge> edgesById = new HashMap<>();
+
+    /**
+     * Diagram composites indexed by their id, first added composite wins
+     */
+    private final Map<String, Composite> compositesById = new HashMap<>();
+
+    /**
+     * Snapshot of the current diagram state, dropped whenever the diagram changes
+     */
+    private volatile DiagramSnapshot snapshot;
 
     public Diagram() {
     }
 
+    /**
+     * Creates a compact snapshot of the diagram for analysis, or returns the one created before.
+     * The snapshot reflects the diagram at the time of this call, changes made through Diagram methods
+     * drop it, components must not be changed directly once the diagram is frozen.
+     * Safe to be called from multiple threads.
+     * @return snapshot of this diagram
+     * @see DiagramSnapshot
+     */
+    public DiagramSnapshot freeze(){
+        DiagramSnapshot current = snapshot;
+        if(Objects.isNull(current)){
+            synchronized(this){
+                current = snapshot;
+                if(Objects.isNull(current)){
+                    current = new DiagramSnapshot(vertices, edges, composites);
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
     /**
      * Organizes diagram edges for standardization purposes.
      * Organizing a connection means switching target and source of connection where appropriate.
@@ -35,51 +93,46 @@ public class Diagram {
      * Attribute is always a source of an Edge.
      */
     public void organizeEdges(){
+        snapshot = null;
         edges.forEach(Edge::organize);
     }
 
     /**
      * Gets entities present in diagram
-     * @return list of all present entities
+     * @return read-only list of all present entities
      */
     public List<Entity> getEntities(){
-        return vertices.stream()
-                .filter(Vertex::isEntity)
-                .map(vertex -> (Entity) vertex)
-                .collect(Collectors.toList());
+        return entitiesView;
     }
 
     /**
      * Gets attributes present in diagram
-     * @return list of all present attributes
+     * @return read-only list of all present attributes
      */
     public List<Attribute> getAttributes(){
-        return vertices.stream()
-                .filter(Vertex::isAttribute)
-                .map(vertex -> (Attribute) vertex)
-                .collect(Collectors.toList());
+        return attributesView;
     }
 
     /**
      * Gets relationships present in diagram
-     * @return list of all present relationships
+     * @return read-only list of all present relationships
      */
     public List<Relationship> getRelationships(){
-        return vertices.stream()
-                .filter(Vertex::isRelationship)
-                .map(vertex -> (Relationship) vertex)
-                .collect(Collectors.toList());
+        return relationshipsView;
     }
 
     /**
      * For marking weak entities.
-     * Goes through every entity and calls their weak entity method
+     * Resolves weakness of all entities at once and marks them accordingly
+     * @see EntityIdentification
      */
     public void identifyWeakEntities(){
-        List<Entity> entities = this.getEntities();
-
-        for(Entity entity : entities){
-            entity.isWeakEntity();
+        DiagramSnapshot current = freeze();
+        EntityIdentification identification = current.getIdentification();
+        for(int vertex = 0; vertex < current.getVertexCount(); vertex++){
+            if(current.isEntity(vertex)){
+                ((Entity) current.getVertex(vertex)).setIsWeak(identification.isWeak(vertex));
+            }
         }
     }
 
@@ -87,32 +140,13 @@ public class Diagram {
     /**
      * Gets vertices not connected by an edge to main diagram component.
      * If resulting list is empty, then the diagram has a single component.
-     * Implementation using DFS.
-     * Main component is one that contains diagram vertex with index 0.
+     * Main component is the largest one.
      *
      * @return list of vertices not in main component
+     * @see DiagramComponents
      */
     public List<Vertex> getMissingVerticesFromMainComponent(){
-        List<Vertex> visited = new LinkedList<>();
-        Stack<Vertex> toBeVisited = new Stack<>();
-        Vertex first = vertices.get(0);
-        toBeVisited.push(first);
-
-        //DFS
-        while(!toBeVisited.isEmpty()){
-            Vertex vertex = toBeVisited.pop();
-            visited.add(vertex);
-
-            for(Vertex adjacent : vertex.getAdjacentVertices()){
-                if(!visited.contains(adjacent) && !toBeVisited.contains(adjacent)){
-                    toBeVisited.push(adjacent);
-                }
-            }
-        }
-
-        return vertices.stream()
-                .filter(vertex -> !visited.contains(vertex))
-                .collect(Collectors.toList());
+        return freeze().getComponents().getVerticesOutsideLargest();
     }
 
     /**
@@ -120,12 +154,7 @@ public class Diagram {
      * Goes through all entities and gives them associated keys
      */
     public void addKeysToEntities(){
-
-        List<Entity> entities = vertices.stream()
-                .filter(Vertex::isEntity)
-                .map((vert)->(Entity) vert)
-                .collect(Collectors.toList());
-
+        snapshot = null;
         for(Entity entity : entities){
             //add simple keys
             entity.getEdges().forEach((edge)->{
@@ -154,7 +183,7 @@ public class Diagram {
      * @return optional of vertex with given id
      */
     public Optional<Vertex> findVertexById(String id){
-        return vertices.stream().filter((vert) -> vert.getId().equals(id)).findAny();
+        return Optional.ofNullable(verticesById.get(id));
     }
 
     /**
@@ -163,7 +192,7 @@ public class Diagram {
      * @return optional of edge with given id
      */
     public Optional<Edge> findEdgeById(String id){
-        return edges.stream().filter((edge) -> edge.getId().equals(id)).findAny();
+        return Optional.ofNullable(edgesById.get(id));
     }
 
     /**
@@ -172,7 +201,7 @@ public class Diagram {
      * @return optional of composite with given id
      */
     public Optional<Composite> findCompositeById(String id){
-        return composites.stream().filter((edge) -> edge.getId().equals(id)).findAny();
+        return Optional.ofNullable(compositesById.get(id));
     }
 
     /**
@@ -180,7 +209,9 @@ public class Diagram {
      * @param composite Composite key with unique id
      */
     public void addComposite(Composite composite){
+        snapshot = null;
         composites.add(composite);
+        compositesById.putIfAbsent(composite.getId(), composite);
     }
 
     /**
@@ -188,7 +219,19 @@ public class Diagram {
      * @param vert Vertex with unique id
      */
     public void addVertex(Vertex vert){
+        snapshot = null;
         vertices.add(vert);
+        verticesById.putIfAbsent(vert.getId(), vert);
+
+        if(vert.isEntity()){
+            entities.add((Entity) vert);
+        }
+        else if(vert.isAttribute()){
+            attributes.add((Attribute) vert);
+        }
+        else if(vert.isRelationship()){
+            relationships.add((Relationship) vert);
+        }
     }
 
     /**
@@ -196,31 +239,33 @@ public class Diagram {
      * @param edge edge with unique id
      */
     public void addEdge(Edge edge){
+        snapshot = null;
         edges.add(edge);
+        edgesById.putIfAbsent(edge.getId(), edge);
     }
 
     /**
      * Vertex getter
-     * @return Copied list of vertices
+     * @return Read-only list of vertices
      */
     public List<Vertex> getVertices() {
-        return new LinkedList<>(vertices);
+        return verticesView;
     }
 
     /**
      * Edge getter
-     * @return Copied list of edges
+     * @return Read-only list of edges
      */
     public List<Edge> getEdges() {
-        return new LinkedList<>(edges);
+        return edgesView;
     }
 
     /**
      * Composite getter
-     * @return Copied list of composites
+     * @return Read-only list of composites
      */
     public List<Composite> getComposites() {
-        return new LinkedList<>(composites);
+        return compositesView;
     }
 
     @Override
@@ -0,0 +1,171 @@
+package cz.cvut.fel.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Connected components of a frozen diagram.
+ * Components are found with union-find over all snapshot edges that have both ends,
+ * so the analysis runs in near-linear time in the number of vertices and edges.
+ * Components are numbered in the order of their first vertex,
+ * members of every component are kept in diagram order.
+ *
+ * @see DiagramSnapshot#getComponents()
+ */
+public final class DiagramComponents {
+    private final DiagramSnapshot snapshot;
+
+    /**
+     * Component index of every vertex
+     */
+    private final int[] componentOf;
+
+    /**
+     * Members of component c are stored at positions componentStart[c] to componentStart[c + 1]
+     */
+    private final int[] componentStart;
+    private final int[] members;
+
+    private final int largest;
+
+    DiagramComponents(DiagramSnapshot snapshot){
+        this.snapshot = snapshot;
+        int vertexCount = snapshot.getVertexCount();
+        int[] parent = new int[vertexCount];
+        int[] size = new int[vertexCount];
+        for(int v = 0; v < vertexCount; v++){
+            parent[v] = v;
+            size[v] = 1;
+        }
+
+        for(int e = 0; e < snapshot.getTotalEdgeCount(); e++){
+            int source = snapshot.getEdgeSource(e);
+            int target = snapshot.getEdgeTarget(e);
+            if(source >= 0 && target >= 0){
+                union(parent, size, source, target);
+            }
+        }
+
+        //numbers components by their first vertex and counts their members
+        componentOf = new int[vertexCount];
+        int[] componentOfRoot = new int[vertexCount];
+        int[] counts = new int[vertexCount + 1];
+        int componentCount = 0;
+        for(int v = 0; v < vertexCount; v++){
+            int root = find(parent, v);
+            if(componentOfRoot[root] == 0){
+                componentOfRoot[root] = ++componentCount;
+            }
+            componentOf[v] = componentOfRoot[root] - 1;
+            counts[componentOf[v]]++;
+        }
+
+        componentStart = new int[componentCount + 1];
+        for(int c = 0; c < componentCount; c++){
+            componentStart[c + 1] = componentStart[c] + counts[c];
+        }
+
+        members = new int[vertexCount];
+        int[] next = new int[componentCount];
+        for(int v = 0; v < vertexCount; v++){
+            int component = componentOf[v];
+            members[componentStart[component] + next[component]++] = v;
+        }
+
+        int largestComponent = componentCount == 0 ? -1 : 0;
+        for(int c = 1; c < componentCount; c++){
+            if(getComponentSize(c) > getComponentSize(largestComponent)){
+                largestComponent = c;
+            }
+        }
+        largest = largestComponent;
+    }
+
+    private static int find(int[] parent, int vertex){
+        while(parent[vertex] != vertex){
+            parent[vertex] = parent[parent[vertex]];
+            vertex = parent[vertex];
+        }
+        return vertex;
+    }
+
+    private static void union(int[] parent, int[] size, int first, int second){
+        int firstRoot = find(parent, first);
+        int secondRoot = find(parent, second);
+        if(firstRoot == secondRoot){
+            return;
+        }
+        if(size[firstRoot] < size[secondRoot]){
+            int swap = firstRoot;
+            firstRoot = secondRoot;
+            secondRoot = swap;
+        }
+        parent[secondRoot] = firstRoot;
+        size[firstRoot] += size[secondRoot];
+    }
+
+    public int getComponentCount(){
+        return componentStart.length - 1;
+    }
+
+    /**
+     * @param vertex vertex index
+     * @return index of the component containing the vertex
+     */
+    public int getComponent(int vertex){
+        return componentOf[vertex];
+    }
+
+    public int getComponentSize(int component){
+        return componentStart[component + 1] - componentStart[component];
+    }
+
+    /**
+     * Main component is the largest one, the earliest of equally large components is chosen.
+     * @return index of the main component, -1 if the diagram has no vertices
+     */
+    public int getLargestComponent(){
+        return largest;
+    }
+
+    /**
+     * @param component component index
+     * @return read-only list of component vertices in diagram order
+     */
+    public List<Vertex> getMembers(int component){
+        int start = componentStart[component];
+        int size = getComponentSize(component);
+        return new AbstractList<>() {
+            @Override
+            public Vertex get(int index){
+                if(index < 0 || index >= size){
+                    throw new IndexOutOfBoundsException(index);
+                }
+                return snapshot.getVertex(members[start + index]);
+            }
+
+            @Override
+            public int size(){
+                return size;
+            }
+        };
+    }
+
+    /**
+     * @return vertices outside of the main component in diagram order
+     */
+    public List<Vertex> getVerticesOutsideLargest(){
+        List<Vertex> outside = new ArrayList<>(snapshot.getVertexCount() - sizeOfLargest());
+        for(int v = 0; v < snapshot.getVertexCount(); v++){
+            if(componentOf[v] != largest){
+                outside.add(snapshot.getVertex(v));
+            }
+        }
+        return outside;
+    }
+
+    private int sizeOfLargest(){
+        return largest < 0 ? 0 : getComponentSize(largest);
+    }
+}
@@ -0,0 +1,437 @@
+package cz.cvut.fel.model;
+
+import cz.cvut.fel.enums.Cardinality;
+import cz.cvut.fel.enums.DiagramIndex;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable compact view of a Diagram used for analysis.
+ * Vertices and edges get dense indices in diagram order, their kinds and cardinalities
+ * are kept in parallel primitive arrays and adjacency of every vertex is stored
+ * in compressed sparse row form, following the edges each vertex knows about.
+ * Traversals over the snapshot do not allocate.
+ * Vertex and edge indices of -1 denote a missing or unknown component.
+ *
+ * @see Diagram#freeze()
+ */
+public final class DiagramSnapshot {
+    public static final byte UNKNOWN = 0;
+    public static final byte ENTITY = 1;
+    public static final byte RELATIONSHIP = 2;
+    public static final byte ATTRIBUTE = 3;
+
+    /**
+     * Edge kind flags
+     */
+    public static final byte ATTRIBUTE_CONNECTION = 1;
+    public static final byte RELATIONSHIP_CONNECTION = 2;
+    public static final byte GENERALIZATION = 4;
+
+    private static final byte NO_VALUE = -1;
+    private static final Cardinality[] CARDINALITIES = Cardinality.values();
+
+    private final Vertex[] vertices;
+    private final byte[] vertexKinds;
+
+    /**
+     * Diagram edges followed by edges known only to their vertices
+     */
+    private final Edge[] edges;
+    private final int diagramEdgeCount;
+    private final byte[] edgeKinds;
+    private final byte[] cardinalities;
+    private final int[] edgeSources;
+    private final int[] edgeTargets;
+
+    /**
+     * Adjacency of vertex v is stored at positions adjacencyStart[v] to adjacencyStart[v + 1]
+     */
+    private final int[] adjacencyStart;
+    private final int[] adjacentVertices;
+    private final int[] adjacentEdges;
+
+    /**
+     * Connected components, computed on first use
+     */
+    private volatile DiagramComponents components;
+
+    /**
+     * Generalization hierarchies, computed on first use
+     */
+    private volatile HierarchyIndex hierarchies;
+
+    /**
+     * Identification of entities, computed on first use
+     */
+    private volatile EntityIdentification identification;
+
+    /**
+     * Component counts, computed on first use
+     */
+    private volatile DiagramStatistics statistics;
+
+    /**
+     * Number of composite keys of the diagram
+     */
+    private final int compositeCount;
+
+    DiagramSnapshot(List<Vertex> diagramVertices, List<Edge> diagramEdges, List<Composite> diagramComposites){
+        compositeCount = diagramComposites.size();
+        Map<Vertex, Integer> vertexIndices = new IdentityHashMap<>();
+        vertices = diagramVertices.toArray(new Vertex[0]);
+        vertexKinds = new byte[vertices.length];
+        for(int v = 0; v < vertices.length; v++){
+            vertexIndices.putIfAbsent(vertices[v], v);
+            vertexKinds[v] = kindOf(vertices[v]);
+        }
+
+        List<List<Edge>> vertexEdges = new ArrayList<>(vertices.length);
+        Map<Edge, Integer> edgeIndices = new IdentityHashMap<>();
+        List<Edge> allEdges = new ArrayList<>(diagramEdges);
+        diagramEdges.forEach(edge -> edgeIndices.putIfAbsent(edge, edgeIndices.size()));
+
+        int adjacencyCount = 0;
+        for(Vertex vertex : vertices){
+            List<Edge> own = vertex.getEdges();
+            vertexEdges.add(own);
+            adjacencyCount += own.size();
+            for(Edge edge : own){
+                if(!edgeIndices.containsKey(edge)){
+                    edgeIndices.put(edge, edgeIndices.size());
+                    allEdges.add(edge);
+                }
+            }
+        }
+
+        edges = allEdges.toArray(new Edge[0]);
+        diagramEdgeCount = diagramEdges.size();
+        edgeKinds = new byte[edges.length];
+        cardinalities = new byte[edges.length];
+        edgeSources = new int[edges.length];
+        edgeTargets = new int[edges.length];
+        for(int e = 0; e < edges.length; e++){
+            Edge edge = edges[e];
+            edgeSources[e] = indexOf(vertexIndices, edge.getSource());
+            edgeTargets[e] = indexOf(vertexIndices, edge.getTarget());
+            cardinalities[e] = Objects.isNull(edge.getCardinality())
+                    ? NO_VALUE
+                    : (byte) edge.getCardinality().ordinal();
+            edgeKinds[e] = edgeKindOf(edge);
+        }
+
+        adjacencyStart = new int[vertices.length + 1];
+        adjacentVertices = new int[adjacencyCount];
+        adjacentEdges = new int[adjacencyCount];
+        int position = 0;
+        for(int v = 0; v < vertices.length; v++){
+            adjacencyStart[v] = position;
+            for(Edge edge : vertexEdges.get(v)){
+                Vertex other = vertices[v].equals(edge.getTarget()) ? edge.getSource() : edge.getTarget();
+                adjacentVertices[position] = indexOf(vertexIndices, other);
+                adjacentEdges[position] = edgeIndices.get(edge);
+                position++;
+            }
+        }
+        adjacencyStart[vertices.length] = position;
+    }
+
+    private static int indexOf(Map<Vertex, Integer> vertexIndices, Vertex vertex){
+        Integer index = Objects.isNull(vertex) ? null : vertexIndices.get(vertex);
+        return Objects.isNull(index) ? -1 : index;
+    }
+
+    private static byte kindOf(Vertex vertex){
+        if(vertex.isEntity()){
+            return ENTITY;
+        }
+        if(vertex.isRelationship()){
+            return RELATIONSHIP;
+        }
+        if(vertex.isAttribute()){
+            return ATTRIBUTE;
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * Edges missing an end are not connections, otherwise the flags follow Edge connection methods
+     */
+    private static byte edgeKindOf(Edge edge){
+        byte kind = edge.isGeneralization() ? GENERALIZATION : 0;
+        if(!edge.isFullyConnected()){
+            return kind;
+        }
+        byte sourceKind = kindOf(edge.getSource());
+        byte targetKind = kindOf(edge.getTarget());
+        if(sourceKind == ATTRIBUTE || targetKind == ATTRIBUTE){
+            kind |= ATTRIBUTE_CONNECTION;
+        }
+        if((sourceKind == RELATIONSHIP && targetKind == ENTITY) || (sourceKind == ENTITY && targetKind == RELATIONSHIP)){
+            kind |= RELATIONSHIP_CONNECTION;
+        }
+        return kind;
+    }
+
+    public int getVertexCount(){
+        return vertices.length;
+    }
+
+    /**
+     * @return number of diagram edges, they have indices from 0 to this count
+     */
+    public int getEdgeCount(){
+        return diagramEdgeCount;
+    }
+
+    /**
+     * @return number of diagram edges and edges known only to their vertices
+     */
+    public int getTotalEdgeCount(){
+        return edges.length;
+    }
+
+    /**
+     * Builds a given analysis ahead of its first use, analyses it depends on are built as well.
+     * Safe to be called from multiple threads.
+     * @param index analysis to be built
+     */
+    public void prepare(DiagramIndex index){
+        switch(index){
+            case COMPONENTS:
+                getComponents();
+                break;
+            case HIERARCHIES:
+                getHierarchies();
+                break;
+            case IDENTIFICATION:
+                getIdentification();
+                break;
+            case STATISTICS:
+                getStatistics();
+                break;
+            default:
+                throw new IllegalArgumentException(String.format("Diagram index %s not supported", index));
+        }
+    }
+
+    /**
+     * Finds connected components of the diagram on first use, later calls return the same result.
+     * Safe to be called from multiple threads.
+     * @return connected components of this snapshot
+     */
+    public DiagramComponents getComponents(){
+        DiagramComponents current = components;
+        if(Objects.isNull(current)){
+            current = new DiagramComponents(this);
+            components = current;
+        }
+        return current;
+    }
+
+    /**
+     * Indexes generalization hierarchies on first use, later calls return the same result.
+     * Safe to be called from multiple threads.
+     * @return generalization hierarchies of this snapshot
+     */
+    public HierarchyIndex getHierarchies(){
+        HierarchyIndex current = hierarchies;
+        if(Objects.isNull(current)){
+            current = new HierarchyIndex(this);
+            hierarchies = current;
+        }
+        return current;
+    }
+
+    /**
+     * Resolves identification of all entities on first use, later calls return the same result.
+     * Safe to be called from multiple threads.
+     * @return identification status and weakness of entities of this snapshot
+     */
+    public EntityIdentification getIdentification(){
+        EntityIdentification current = identification;
+        if(Objects.isNull(current)){
+            current = new EntityIdentification(this);
+            identification = current;
+        }
+        return current;
+    }
+
+    /**
+     * Counts diagram components on first use, later calls return the same result.
+     * Safe to be called from multiple threads.
+     * @return statistics of this snapshot
+     */
+    public DiagramStatistics getStatistics(){
+        DiagramStatistics current = statistics;
+        if(Objects.isNull(current)){
+            current = new DiagramStatistics(this, compositeCount);
+            statistics = current;
+        }
+        return current;
+    }
+
+    public Vertex getVertex(int vertex){
+        return vertices[vertex];
+    }
+
+    public Edge getEdge(int edge){
+        return edges[edge];
+    }
+
+    public byte getVertexKind(int vertex){
+        return vertexKinds[vertex];
+    }
+
+    public boolean isEntity(int vertex){
+        return vertex >= 0 && vertexKinds[vertex] == ENTITY;
+    }
+
+    public boolean isRelationship(int vertex){
+        return vertex >= 0 && vertexKinds[vertex] == RELATIONSHIP;
+    }
+
+    public boolean isAttribute(int vertex){
+        return vertex >= 0 && vertexKinds[vertex] == ATTRIBUTE;
+    }
+
+    /**
+     * @return index of the edge source, -1 if missing
+     */
+    public int getEdgeSource(int edge){
+        return edgeSources[edge];
+    }
+
+    /**
+     * @return index of the edge target, -1 if missing
+     */
+    public int getEdgeTarget(int edge){
+        return edgeTargets[edge];
+    }
+
+    /**
+     * @param edge edge index
+     * @param kind edge kind flag
+     * @return true if the edge has the given kind
+     */
+    public boolean hasEdgeKind(int edge, byte kind){
+        return (edgeKinds[edge] & kind) != 0;
+    }
+
+    public boolean isAttributeConnection(int edge){
+        return (edgeKinds[edge] & ATTRIBUTE_CONNECTION) != 0;
+    }
+
+    public boolean isRelationshipConnection(int edge){
+        return (edgeKinds[edge] & RELATIONSHIP_CONNECTION) != 0;
+    }
+
+    public boolean isGeneralization(int edge){
+        return (edgeKinds[edge] & GENERALIZATION) != 0;
+    }
+
+    /**
+     * @return cardinality of the edge, null if the edge has none
+     */
+    public Cardinality getCardinality(int edge){
+        return cardinalities[edge] == NO_VALUE ? null : CARDINALITIES[cardinalities[edge]];
+    }
+
+    /**
+     * @return true if the edge has a recognized cardinality, missing cardinality is not recognized
+     */
+    public boolean hasCardinality(int edge){
+        Cardinality cardinality = getCardinality(edge);
+        return Objects.nonNull(cardinality)
+                && cardinality != Cardinality.NO_CARDINALITY
+                && cardinality != Cardinality.NOT_RECOGNIZED;
+    }
+
+    /**
+     * @return first adjacency position of the vertex
+     */
+    public int getAdjacencyStart(int vertex){
+        return adjacencyStart[vertex];
+    }
+
+    /**
+     * @return adjacency position after the last one of the vertex
+     */
+    public int getAdjacencyEnd(int vertex){
+        return adjacencyStart[vertex + 1];
+    }
+
+    /**
+     * @param position adjacency position
+     * @return index of the vertex on the other side of the edge, -1 if missing
+     */
+    public int getAdjacentVertex(int position){
+        return adjacentVertices[position];
+    }
+
+    /**
+     * @param position adjacency position
+     * @return index of the edge at the position
+     */
+    public int getAdjacentEdge(int position){
+        return adjacentEdges[position];
+    }
+
+    /**
+     * @return true if any adjacent vertex has the given kind
+     */
+    public boolean hasAdjacent(int vertex, byte kind){
+        for(int k = adjacencyStart[vertex]; k < adjacencyStart[vertex + 1]; k++){
+            int adjacent = adjacentVertices[k];
+            if(adjacent >= 0 && vertexKinds[adjacent] == kind){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return number of distinct adjacent vertices of the given kind
+     */
+    public int countDistinctAdjacent(int vertex, byte kind){
+        int start = adjacencyStart[vertex];
+        int end = adjacencyStart[vertex + 1];
+        int count = 0;
+        for(int k = start; k < end; k++){
+            int adjacent = adjacentVertices[k];
+            if(adjacent >= 0 && vertexKinds[adjacent] == kind && firstOccurrence(start, k)){
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Recursive relationship has two relationship edges to the same entity
+     * @return true if the vertex is connected to some entity more than once
+     */
+    public boolean isRecursive(int vertex){
+        int start = adjacencyStart[vertex];
+        int end = adjacencyStart[vertex + 1];
+        for(int k = start; k < end; k++){
+            int adjacent = adjacentVertices[k];
+            if(adjacent >= 0 && vertexKinds[adjacent] == ENTITY && !firstOccurrence(start, k)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean firstOccurrence(int start, int position){
+        for(int k = start; k < position; k++){
+            if(adjacentVertices[k] == adjacentVertices[position]){
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,159 @@
+package cz.cvut.fel.model;
+
+import java.util.Arrays;
+
+/**
+ * Counts of diagram components used by quantity checks.
+ * All counts are gathered in a single pass over the vertices and a single pass over the edges
+ * of a frozen diagram, weak entities and hierarchies are taken from the snapshot analyses.
+ *
+ * @see DiagramSnapshot#getStatistics()
+ */
+public final class DiagramStatistics {
+    private final int entityCount;
+    private final int relationshipCount;
+    private final int attributeCount;
+    private final int multivaluedAttributeCount;
+    private final int structuredAttributeCount;
+    private final int weakEntityCount;
+    private final int compositeCount;
+    private final int multipleIdentifierCount;
+    private final int recursiveRelationshipCount;
+    private final int hierarchyCount;
+
+    /**
+     * Number of relationships connected to the given number of distinct entities
+     */
+    private final int[] relationshipsByArity;
+
+    DiagramStatistics(DiagramSnapshot snapshot, int diagramCompositeCount){
+        EntityIdentification identification = snapshot.getIdentification();
+        int entities = 0;
+        int relationships = 0;
+        int attributes = 0;
+        int structured = 0;
+        int weak = 0;
+        int structuredKeys = 0;
+        int multipleIdentifiers = 0;
+        int recursive = 0;
+        int[] arity = new int[1];
+
+        for(int vertex = 0; vertex < snapshot.getVertexCount(); vertex++){
+            if(snapshot.isEntity(vertex)){
+                entities++;
+                if(identification.isWeak(vertex)){
+                    weak++;
+                }
+                if(((Entity) snapshot.getVertex(vertex)).getKeys().size() > 1){
+                    multipleIdentifiers++;
+                }
+            }
+            else if(snapshot.isRelationship(vertex)){
+                relationships++;
+                if(snapshot.isRecursive(vertex)){
+                    recursive++;
+                }
+                int entityCount = snapshot.countDistinctAdjacent(vertex, DiagramSnapshot.ENTITY);
+                if(entityCount >= arity.length){
+                    arity = Arrays.copyOf(arity, entityCount + 1);
+                }
+                arity[entityCount]++;
+            }
+            else if(snapshot.isAttribute(vertex)){
+                attributes++;
+                if((snapshot.hasAdjacent(vertex, DiagramSnapshot.ENTITY)
+                        || snapshot.hasAdjacent(vertex, DiagramSnapshot.RELATIONSHIP))
+                        && snapshot.hasAdjacent(vertex, DiagramSnapshot.ATTRIBUTE)){
+                    structured++;
+                }
+                Attribute attribute = (Attribute) snapshot.getVertex(vertex);
+                if(Boolean.TRUE.equals(attribute.getIsKey()) && attribute.isSimple() && attribute.isStructured()){
+                    structuredKeys++;
+                }
+            }
+        }
+
+        int multivalued = 0;
+        for(int edge = 0; edge < snapshot.getEdgeCount(); edge++){
+            if(snapshot.isAttributeConnection(edge) && snapshot.hasCardinality(edge)){
+                multivalued++;
+            }
+        }
+
+        entityCount = entities;
+        relationshipCount = relationships;
+        attributeCount = attributes;
+        multivaluedAttributeCount = multivalued;
+        structuredAttributeCount = structured;
+        weakEntityCount = weak;
+        compositeCount = diagramCompositeCount + structuredKeys;
+        multipleIdentifierCount = multipleIdentifiers;
+        recursiveRelationshipCount = recursive;
+        hierarchyCount = snapshot.getHierarchies().getHierarchyCount();
+        relationshipsByArity = arity;
+    }
+
+    public int getEntityCount(){
+        return entityCount;
+    }
+
+    public int getRelationshipCount(){
+        return relationshipCount;
+    }
+
+    public int getAttributeCount(){
+        return attributeCount;
+    }
+
+    /**
+     * @return number of attribute edges with a recognized cardinality
+     */
+    public int getMultivaluedAttributeCount(){
+        return multivaluedAttributeCount;
+    }
+
+    /**
+     * @return number of attributes connected to an entity or relationship and to another attribute
+     */
+    public int getStructuredAttributeCount(){
+        return structuredAttributeCount;
+    }
+
+    public int getWeakEntityCount(){
+        return weakEntityCount;
+    }
+
+    /**
+     * @return number of composite keys together with structured key attributes
+     */
+    public int getCompositeCount(){
+        return compositeCount;
+    }
+
+    /**
+     * @return number of entities with more than one key
+     */
+    public int getMultipleIdentifierCount(){
+        return multipleIdentifierCount;
+    }
+
+    public int getRecursiveRelationshipCount(){
+        return recursiveRelationshipCount;
+    }
+
+    public int getHierarchyCount(){
+        return hierarchyCount;
+    }
+
+    /**
+     * @param entities minimal number of distinct connected entities
+     * @return number of relationships connected to at least the given number of distinct entities
+     */
+    public int getNaryRelationshipCount(int entities){
+        int count = 0;
+        for(int arity = Math.max(entities, 0); arity < relationshipsByArity.length; arity++){
+            count += relationshipsByArity[arity];
+        }
+        return count;
+    }
+}
@@ -8,9 +8,14 @@ package cz.cvut.fel.model;
 import lombok.Getter;
 import cz.cvut.fel.output.stringifier.DiagramVisitor;
 
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -35,6 +40,11 @@ public class Entity extends Vertex {
         super(name, id);
     }
 
+    public Entity(String name, String id, Boolean isWeak) {
+        super(name, id);
+        this.isWeak = isWeak;
+    }
+
     public void addKey(Key key){
         keys.add(key);
     }
@@ -60,64 +70,55 @@ public class Entity extends Vertex {
 
     /**
      * Finds out if this entity is identified by its key or ancestor key.
+     * Every ancestor is visited once, so cyclic hierarchies are handled.
      * @return true if entity is identified
      */
     public boolean hasIdentifier(){
-        if(!keys.isEmpty()){
-            return true;
-        }
-
-        return getAncestors().stream().anyMatch(Entity::hasIdentifier);
+        return getAncestorClosure().stream().anyMatch(entity -> !entity.keys.isEmpty());
     }
 
     /**
      * Finds out if this entity is weak.
      * Weak entities do not have attributes as keys
-     * and have relationship based composite key.
+     * and have relationship based composite key, same holds for all their ancestors.
+     * Every ancestor is visited once, so cyclic hierarchies are handled.
+     * Does not change the entity, so it is safe for concurrent readers.
      *
      * @return true if this is weak entity
+     * @see Diagram#identifyWeakEntities()
      */
     public boolean isWeakEntity(){
+        return getAncestorClosure().stream().allMatch(Entity::hasOnlyRelationshipComposites);
+    }
 
-        boolean hasRelationshipComposite = false;
-
-        //is not identified by a key
-        for(Key key : this.getKeys()){
-
-            //simple key
-            if(key.isSimple()){
-                this.isWeak = false;
-                return false;
-            }
-
-            //composite key
-            else{
-                Composite composite = (Composite) key;
-                if(composite.isRelationshipBased()){
-                    hasRelationshipComposite = true;
-                }
-                else{
-                    this.isWeak = false;
-                    return false;
-                }
-            }
-        }
-
-        //ancestor keys
-        List<Entity> ancestors = this.getAdjacentVertices().stream()
-                .filter(Vertex::isEntity)
-                .map(vertex -> (Entity) vertex)
-                .collect(Collectors.toList());
+    /**
+     * @return true if this entity has at least one key and all its keys are relationship based composites
+     */
+    private boolean hasOnlyRelationshipComposites(){
+        return !keys.isEmpty() && keys.stream()
+                .allMatch(key -> !key.isSimple() && ((Composite) key).isRelationshipBased());
+    }
 
-        for(Entity ancestor : ancestors){
-            if(!ancestor.isWeakEntity()){
-                this.isWeak = false;
-                return false;
+    /**
+     * @return this entity and all its transitive ancestors, each exactly once
+     */
+    private Set<Entity> getAncestorClosure(){
+        Set<Entity> closure = new LinkedHashSet<>();
+        Deque<Entity> toBeVisited = new ArrayDeque<>();
+        toBeVisited.push(this);
+        while(!toBeVisited.isEmpty()){
+            Entity entity = toBeVisited.pop();
+            if(closure.add(entity)){
+                entity.getAncestors().stream()
+                        .filter(Objects::nonNull)
+                        .forEach(toBeVisited::push);
             }
         }
+        return closure;
+    }
 
-        this.isWeak = hasRelationshipComposite;
-        return hasRelationshipComposite;
+    void setIsWeak(boolean isWeak){
+        this.isWeak = isWeak;
     }
 
 
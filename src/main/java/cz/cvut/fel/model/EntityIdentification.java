@@ -0,0 +1,91 @@
+package cz.cvut.fel.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Identification status and weakness of every entity of a frozen diagram.
+ * Entities inherit identification from their ancestors in the generalization hierarchy,
+ * so the status of an entity depends on the status of all its ancestors.
+ * Entities are resolved once, component by component in the order given by the hierarchy index,
+ * which places ancestors before descendants.
+ * Entities on a generalization cycle share their ancestors and are resolved together.
+ *
+ * @see HierarchyIndex
+ * @see DiagramSnapshot#getIdentification()
+ */
+public final class EntityIdentification {
+    /**
+     * True if the entity or any of its ancestors has a key
+     */
+    private final boolean[] identified;
+
+    /**
+     * True if the entity and all its ancestors are identified only by relationship based composite keys
+     */
+    private final boolean[] weak;
+
+    EntityIdentification(DiagramSnapshot snapshot){
+        int vertexCount = snapshot.getVertexCount();
+        HierarchyIndex hierarchies = snapshot.getHierarchies();
+        identified = new boolean[vertexCount];
+        weak = new boolean[vertexCount];
+
+        int[] componentOf = new int[vertexCount];
+        Arrays.fill(componentOf, -1);
+        for(int[] component : hierarchies.getComponents()){
+            int id = component[0];
+            boolean componentIdentified = false;
+            boolean componentWeak = true;
+            for(int entity : component){
+                componentOf[entity] = id;
+            }
+            for(int entity : component){
+                List<Key> keys = ((Entity) snapshot.getVertex(entity)).getKeys();
+                componentIdentified |= !keys.isEmpty();
+                componentWeak &= isLocallyWeak(keys);
+                for(int k = 0; k < hierarchies.getParentCount(entity); k++){
+                    int parent = hierarchies.getParent(entity, k);
+                    if(componentOf[parent] != id){
+                        componentIdentified |= identified[parent];
+                        componentWeak &= weak[parent];
+                    }
+                }
+            }
+            for(int entity : component){
+                identified[entity] = componentIdentified;
+                weak[entity] = componentWeak;
+            }
+        }
+    }
+
+    /**
+     * Weak entities have no attribute keys and are identified by a relationship based composite key
+     */
+    private static boolean isLocallyWeak(List<Key> keys){
+        boolean hasRelationshipComposite = false;
+        for(Key key : keys){
+            if(key.isSimple() || !((Composite) key).isRelationshipBased()){
+                return false;
+            }
+            hasRelationshipComposite = true;
+        }
+        return hasRelationshipComposite;
+    }
+
+    /**
+     * @param vertex index of an entity
+     * @return true if the entity or any of its ancestors has a key
+     */
+    public boolean isIdentified(int vertex){
+        return identified[vertex];
+    }
+
+    /**
+     * @param vertex index of an entity
+     * @return true if the entity is weak
+     */
+    public boolean isWeak(int vertex){
+        return weak[vertex];
+    }
+}
@@ -0,0 +1,313 @@
+package cz.cvut.fel.model;
+
+import cz.cvut.fel.enums.Coverage;
+import cz.cvut.fel.enums.Disjointness;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Generalization hierarchies of a frozen diagram.
+ * A hierarchy is formed by all generalization edges sharing the same ancestor.
+ * Hierarchies are numbered in the order of their first edge and keep their coverage and disjointness.
+ * Entities are linked to their direct parents and children and every entity knows
+ * all of its transitive ancestors as a bitset of vertex indices.
+ * Strongly connected components of the entity generalization graph are kept with ancestors
+ * ahead of descendants, components with more than one entity are generalization cycles.
+ *
+ * @see DiagramSnapshot#getHierarchies()
+ */
+public final class HierarchyIndex {
+    private static final BitSet NO_ANCESTORS = new BitSet(0);
+
+    private final DiagramSnapshot snapshot;
+
+    /**
+     * Ancestor vertex of every hierarchy
+     */
+    private final int[] hierarchyParents;
+    private final Coverage[] coverages;
+    private final Disjointness[] disjointness;
+
+    /**
+     * Child entities of vertex v are stored at positions childStart[v] to childStart[v + 1],
+     * parent entities of vertex v at positions parentStart[v] to parentStart[v + 1]
+     */
+    private final int[] childStart;
+    private final int[] children;
+    private final int[] parentStart;
+    private final int[] parents;
+
+    /**
+     * Transitive ancestors of every entity, entities on a cycle are their own ancestors
+     */
+    private final BitSet[] ancestors;
+
+    /**
+     * Strongly connected components of entities, every component after the components of its ancestors
+     */
+    private final List<int[]> components;
+
+    private final List<List<Entity>> cycles = new ArrayList<>();
+
+    HierarchyIndex(DiagramSnapshot snapshot){
+        this.snapshot = snapshot;
+        int vertexCount = snapshot.getVertexCount();
+
+        //hierarchies by their ancestor
+        int[] hierarchyOf = new int[vertexCount];
+        Arrays.fill(hierarchyOf, -1);
+        List<Integer> hierarchyParentList = new ArrayList<>();
+        List<Coverage> coverageList = new ArrayList<>();
+        List<Disjointness> disjointnessList = new ArrayList<>();
+        int[] childCount = new int[vertexCount];
+        int[] parentCount = new int[vertexCount];
+
+        for(int edge = 0; edge < snapshot.getEdgeCount(); edge++){
+            int child = snapshot.getEdgeSource(edge);
+            int parent = snapshot.getEdgeTarget(edge);
+            if(!snapshot.isGeneralization(edge) || child < 0 || parent < 0){
+                continue;
+            }
+
+            Generalization generalization = (Generalization) snapshot.getEdge(edge);
+            Coverage coverage = Objects.requireNonNullElse(generalization.getCoverage(), Coverage.NOT_RECOGNIZED);
+            Disjointness edgeDisjointness = Objects.requireNonNullElse(generalization.getDisjointness(),
+                    Disjointness.NOT_RECOGNIZED);
+            int hierarchy = hierarchyOf[parent];
+            if(hierarchy < 0){
+                hierarchy = hierarchyParentList.size();
+                hierarchyOf[parent] = hierarchy;
+                hierarchyParentList.add(parent);
+                coverageList.add(coverage);
+                disjointnessList.add(edgeDisjointness);
+            }
+            else{
+                //edges of one hierarchy have to agree on its annotation
+                if(coverageList.get(hierarchy) != coverage){
+                    coverageList.set(hierarchy, Coverage.NOT_RECOGNIZED);
+                }
+                if(disjointnessList.get(hierarchy) != edgeDisjointness){
+                    disjointnessList.set(hierarchy, Disjointness.NOT_RECOGNIZED);
+                }
+            }
+
+            if(isEntityLink(child, parent)){
+                childCount[parent]++;
+                parentCount[child]++;
+            }
+        }
+
+        hierarchyParents = hierarchyParentList.stream().mapToInt(Integer::intValue).toArray();
+        coverages = coverageList.toArray(new Coverage[0]);
+        disjointness = disjointnessList.toArray(new Disjointness[0]);
+
+        childStart = new int[vertexCount + 1];
+        parentStart = new int[vertexCount + 1];
+        for(int v = 0; v < vertexCount; v++){
+            childStart[v + 1] = childStart[v] + childCount[v];
+            parentStart[v + 1] = parentStart[v] + parentCount[v];
+        }
+        children = new int[childStart[vertexCount]];
+        parents = new int[parentStart[vertexCount]];
+        Arrays.fill(childCount, 0);
+        Arrays.fill(parentCount, 0);
+        for(int edge = 0; edge < snapshot.getEdgeCount(); edge++){
+            int child = snapshot.getEdgeSource(edge);
+            int parent = snapshot.getEdgeTarget(edge);
+            if(snapshot.isGeneralization(edge) && isEntityLink(child, parent)){
+                children[childStart[parent] + childCount[parent]++] = child;
+                parents[parentStart[child] + parentCount[child]++] = parent;
+            }
+        }
+
+        components = findComponents();
+        ancestors = new BitSet[vertexCount];
+        for(int[] component : components){
+            BitSet closure = null;
+            for(int entity : component){
+                for(int k = parentStart[entity]; k < parentStart[entity + 1]; k++){
+                    if(Objects.isNull(closure)){
+                        closure = new BitSet();
+                    }
+                    closure.set(parents[k]);
+                    closure.or(getAncestorSet(parents[k]));
+                }
+            }
+            for(int entity : component){
+                ancestors[entity] = Objects.isNull(closure) ? NO_ANCESTORS : closure;
+            }
+
+            if(component.length > 1){
+                int[] members = component.clone();
+                Arrays.sort(members);
+                List<Entity> cycle = new ArrayList<>(members.length);
+                for(int entity : members){
+                    cycle.add((Entity) snapshot.getVertex(entity));
+                }
+                cycles.add(Collections.unmodifiableList(cycle));
+            }
+        }
+    }
+
+    /**
+     * Parents and children are linked only between two different entities
+     */
+    private boolean isEntityLink(int child, int parent){
+        return child != parent && snapshot.isEntity(child) && snapshot.isEntity(parent);
+    }
+
+    /**
+     * Iterative Tarjan's algorithm over entities and their parents.
+     * @return strongly connected components, every component after the components of its ancestors
+     */
+    private List<int[]> findComponents(){
+        int vertexCount = snapshot.getVertexCount();
+        int[] order = new int[vertexCount];
+        int[] low = new int[vertexCount];
+        int[] position = new int[vertexCount];
+        boolean[] onStack = new boolean[vertexCount];
+        int[] stack = new int[vertexCount];
+        int[] callStack = new int[vertexCount];
+        Arrays.fill(order, -1);
+
+        List<int[]> found = new ArrayList<>();
+        int counter = 0;
+        int stackSize = 0;
+        for(int root = 0; root < vertexCount; root++){
+            if(!snapshot.isEntity(root) || order[root] >= 0){
+                continue;
+            }
+
+            int depth = 0;
+            callStack[depth++] = root;
+            order[root] = low[root] = counter++;
+            position[root] = parentStart[root];
+            stack[stackSize++] = root;
+            onStack[root] = true;
+
+            while(depth > 0){
+                int entity = callStack[depth - 1];
+                if(position[entity] < parentStart[entity + 1]){
+                    int parent = parents[position[entity]++];
+                    if(order[parent] < 0){
+                        order[parent] = low[parent] = counter++;
+                        position[parent] = parentStart[parent];
+                        stack[stackSize++] = parent;
+                        onStack[parent] = true;
+                        callStack[depth++] = parent;
+                    }
+                    else if(onStack[parent]){
+                        low[entity] = Math.min(low[entity], order[parent]);
+                    }
+                    continue;
+                }
+
+                depth--;
+                if(depth > 0){
+                    int child = callStack[depth - 1];
+                    low[child] = Math.min(low[child], low[entity]);
+                }
+                if(low[entity] == order[entity]){
+                    int start = stackSize;
+                    do{
+                        start--;
+                        onStack[stack[start]] = false;
+                    } while(stack[start] != entity);
+                    found.add(Arrays.copyOfRange(stack, start, stackSize));
+                    stackSize = start;
+                }
+            }
+        }
+        return found;
+    }
+
+    private BitSet getAncestorSet(int vertex){
+        BitSet closure = ancestors[vertex];
+        return Objects.isNull(closure) ? NO_ANCESTORS : closure;
+    }
+
+    public int getHierarchyCount(){
+        return hierarchyParents.length;
+    }
+
+    /**
+     * @param hierarchy hierarchy index
+     * @return index of the ancestor vertex of the hierarchy
+     */
+    public int getHierarchyParent(int hierarchy){
+        return hierarchyParents[hierarchy];
+    }
+
+    /**
+     * @return coverage shared by all edges of the hierarchy, NOT_RECOGNIZED if missing or inconsistent
+     */
+    public Coverage getCoverage(int hierarchy){
+        return coverages[hierarchy];
+    }
+
+    /**
+     * @return disjointness shared by all edges of the hierarchy, NOT_RECOGNIZED if missing or inconsistent
+     */
+    public Disjointness getDisjointness(int hierarchy){
+        return disjointness[hierarchy];
+    }
+
+    public int getParentCount(int vertex){
+        return parentStart[vertex + 1] - parentStart[vertex];
+    }
+
+    /**
+     * @param vertex vertex index
+     * @param position position among direct parents
+     * @return index of the parent entity
+     */
+    public int getParent(int vertex, int position){
+        return parents[parentStart[vertex] + position];
+    }
+
+    public int getChildCount(int vertex){
+        return childStart[vertex + 1] - childStart[vertex];
+    }
+
+    /**
+     * @param vertex vertex index
+     * @param position position among direct children
+     * @return index of the child entity
+     */
+    public int getChild(int vertex, int position){
+        return children[childStart[vertex] + position];
+    }
+
+    /**
+     * @return true if the ancestor is a direct or transitive parent of the vertex
+     */
+    public boolean isAncestor(int vertex, int ancestor){
+        return getAncestorSet(vertex).get(ancestor);
+    }
+
+    /**
+     * @return copy of the set of all transitive ancestors of the vertex
+     */
+    public BitSet getAncestors(int vertex){
+        return (BitSet) getAncestorSet(vertex).clone();
+    }
+
+    /**
+     * @return strongly connected components of entities, every component after the components of its ancestors
+     */
+    List<int[]> getComponents(){
+        return components;
+    }
+
+    /**
+     * @return read-only list of generalization cycles, each given by its entities in diagram order
+     */
+    public List<List<Entity>> getCycles(){
+        return Collections.unmodifiableList(cycles);
+    }
+}
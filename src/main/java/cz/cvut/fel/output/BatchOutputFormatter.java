@@ -0,0 +1,55 @@
+package cz.cvut.fel.output;
+
+import cz.cvut.fel.enums.DefectType;
+import cz.cvut.fel.grading.SubmissionResult;
+
+import java.util.stream.Collectors;
+
+/**
+ * Class BatchOutputFormatter is a collection of static functions
+ * creating CSV rows of batch grading results, one row per graded submission page.
+ *
+ * @see SubmissionResult
+ * @author Adam Skarda
+ */
+public class BatchOutputFormatter {
+    private static final String separator = ",";
+
+    /**
+     * @return CSV header row
+     */
+    public static String header(){
+        return String.join(separator, "submission", "page", "status", "points", "max_points",
+                "defects_present", "defects_checked", "present_defects", "error");
+    }
+
+    /**
+     * Creates a CSV row of a submission result
+     * @param result result to be made into row
+     * @return CSV row without line separator
+     */
+    public static String stringifyResult(SubmissionResult result){
+        return String.join(separator,
+                quote(result.getSubmission()),
+                quote(result.getPage()),
+                result.isFailed() ? "ERROR" : "OK",
+                result.isFailed() ? "" : Float.toString(result.getPoints()),
+                result.isFailed() ? "" : Float.toString(result.getMaxPoints()),
+                result.isFailed() ? "" : Integer.toString(result.getPresentDefects().size()),
+                result.isFailed() ? "" : Integer.toString(result.getCheckedCount()),
+                quote(result.getPresentDefects().stream()
+                        .map(DefectType::getConfigKey)
+                        .collect(Collectors.joining(" "))),
+                quote(result.isFailed() ? result.getError().replaceAll("\\s+", " ").strip() : ""));
+    }
+
+    /**
+     * Quotes a CSV field if needed
+     */
+    private static String quote(String value){
+        if(value.contains(separator) || value.contains("\"") || value.contains("\n") || value.contains("\r")){
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
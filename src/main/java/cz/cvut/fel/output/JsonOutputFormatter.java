@@ -0,0 +1,133 @@
+package cz.cvut.fel.output;
+
+import cz.cvut.fel.grading.GradingResult;
+import cz.cvut.fel.grading.defect.Defect;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Class JsonOutputFormatter is a collection of static functions
+ * creating JSON representations of grading results.
+ *
+ * @see GradingResult
+ * @author Adam Skarda
+ */
+public class JsonOutputFormatter {
+
+    /**
+     * Creates a JSON object of graded pages
+     * @param results results of graded pages
+     * @param elapsedNanos time spent parsing and grading
+     * @return JSON object with pages array
+     */
+    public static String stringifyResults(List<GradingResult> results, long elapsedNanos){
+        StringBuilder builder = new StringBuilder();
+        builder.append("{\"pages\":[");
+        for(int i = 0; i < results.size(); i++){
+            if(i > 0){
+                builder.append(',');
+            }
+            appendResult(builder, results.get(i));
+        }
+        builder.append("],\"timeMillis\":").append(elapsedNanos / 1_000_000.0).append('}');
+        return builder.toString();
+    }
+
+    /**
+     * Creates a JSON object describing a failure
+     * @param message error message
+     * @return JSON object with error field
+     */
+    public static String stringifyError(String message){
+        StringBuilder builder = new StringBuilder("{\"error\":");
+        appendString(builder, message);
+        return builder.append('}').toString();
+    }
+
+    /**
+     * Creates a JSON array of strings
+     * @param values strings to be listed
+     * @return JSON array
+     */
+    public static String stringifyStrings(List<String> values){
+        StringBuilder builder = new StringBuilder("[");
+        for(int i = 0; i < values.size(); i++){
+            if(i > 0){
+                builder.append(',');
+            }
+            appendString(builder, values.get(i));
+        }
+        return builder.append(']').toString();
+    }
+
+    private static void appendResult(StringBuilder builder, GradingResult result){
+        builder.append("{\"index\":").append(result.getPageIndex());
+        builder.append(",\"name\":");
+        appendString(builder, result.getPageName());
+        builder.append(",\"points\":").append(result.getPoints());
+        builder.append(",\"maxPoints\":").append(result.getMaxPoints());
+        builder.append(",\"defects\":[");
+        List<Defect> defects = result.getDefects();
+        for(int i = 0; i < defects.size(); i++){
+            if(i > 0){
+                builder.append(',');
+            }
+            appendDefect(builder, defects.get(i));
+        }
+        builder.append("]}");
+    }
+
+    private static void appendDefect(StringBuilder builder, Defect defect){
+        builder.append("{\"type\":");
+        appendString(builder, defect.getType().name());
+        builder.append(",\"key\":");
+        appendString(builder, defect.getType().getConfigKey());
+        builder.append(",\"message\":");
+        appendString(builder, defect.getType().getMessage());
+        builder.append(",\"present\":").append(Boolean.TRUE.equals(defect.getPresent()));
+        builder.append(",\"points\":").append(defect.getPoints());
+        builder.append(",\"info\":");
+        appendString(builder, defect.getAdditionalInfo());
+        builder.append('}');
+    }
+
+    /**
+     * Appends a JSON string literal, null is appended as JSON null
+     */
+    private static void appendString(StringBuilder builder, String value){
+        if(Objects.isNull(value)){
+            builder.append("null");
+            return;
+        }
+        builder.append('"');
+        for(int i = 0; i < value.length(); i++){
+            char c = value.charAt(i);
+            switch(c){
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if(c < 0x20){
+                        builder.append(String.format("\\u%04x", (int) c));
+                    }
+                    else{
+                        builder.append(c);
+                    }
+            }
+        }
+        builder.append('"');
+    }
+}
@@ -0,0 +1,100 @@
+package cz.cvut.fel.parser;
+
+import cz.cvut.fel.parser.Drawio.DrawioStreamParser;
+import cz.cvut.fel.parser.Erdia.ErdiaStreamParser;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Supported diagram file formats.
+ * Format of a file is recognised from its root element only,
+ * so the rest of the stream can be handed over to the matching StreamParser.
+ *
+ * @see StreamParser
+ */
+public enum DiagramFormat {
+    /**
+     * Files saved by app.diagrams.net
+     */
+    DRAWIO {
+        @Override
+        public StreamParser createParser() {
+            return new DrawioStreamParser();
+        }
+
+        @Override
+        boolean matches(XMLStreamReader root) {
+            return "app.diagrams.net".equals(root.getAttributeValue(null, "host"))
+                    || "mxfile".equals(root.getLocalName());
+        }
+    },
+    /**
+     * Files saved by ERdia
+     */
+    ERDIA {
+        @Override
+        public StreamParser createParser() {
+            return new ErdiaStreamParser();
+        }
+
+        @Override
+        boolean matches(XMLStreamReader root) {
+            return "mxGraphModel".equals(root.getLocalName());
+        }
+    },
+    /**
+     * SVG images exported by app.diagrams.net with the diagram file embedded
+     */
+    DRAWIO_SVG {
+        @Override
+        public StreamParser createParser() {
+            return new SvgContainerParser();
+        }
+
+        @Override
+        boolean matches(XMLStreamReader root) {
+            return "svg".equals(root.getLocalName())
+                    && Objects.nonNull(root.getAttributeValue(null, SvgContainerParser.CONTENT_ATTRIBUTE));
+        }
+    };
+
+    /**
+     * @return new parser for diagrams in this format
+     */
+    public abstract StreamParser createParser();
+
+    /**
+     * @param root reader positioned at the root start element
+     * @return true if the root element belongs to this format
+     */
+    abstract boolean matches(XMLStreamReader root);
+
+    /**
+     * Decides format of the document from its root element.
+     * Advances the reader to the root start element and leaves it there,
+     * so that the same reader can be passed to the parser of the returned format.
+     *
+     * @param reader XML stream positioned before or at the root element
+     * @return format of the document or empty Optional if the format is not supported
+     * @throws XMLStreamException if the document start is not well-formed
+     */
+    public static Optional<DiagramFormat> sniff(XMLStreamReader reader) throws XMLStreamException {
+        while(reader.getEventType() != XMLStreamConstants.START_ELEMENT){
+            if(!reader.hasNext()){
+                return Optional.empty();
+            }
+            reader.next();
+        }
+
+        for(DiagramFormat format : values()){
+            if(format.matches(reader)){
+                return Optional.of(format);
+            }
+        }
+        return Optional.empty();
+    }
+}
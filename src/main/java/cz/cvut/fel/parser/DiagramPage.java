@@ -0,0 +1,34 @@
+package cz.cvut.fel.parser;
+
+import cz.cvut.fel.model.Diagram;
+import lombok.Getter;
+
+/**
+ * Diagram parsed from one page of a diagram file.
+ * Formats without pages produce a single page with index 0 and an empty name.
+ */
+@Getter
+public class DiagramPage {
+    /**
+     * Position of the page in the file, starting from 0
+     */
+    private final int index;
+
+    /**
+     * Page name as shown by the diagram editor
+     */
+    private final String name;
+
+    private final Diagram diagram;
+
+    public DiagramPage(int index, String name, Diagram diagram) {
+        this.index = index;
+        this.name = name;
+        this.diagram = diagram;
+    }
+
+    @Override
+    public String toString() {
+        return "Page " + index + (name.isEmpty() ? "" : " '" + name + "'");
+    }
+}
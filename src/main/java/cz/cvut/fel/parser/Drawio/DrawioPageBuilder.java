@@ -0,0 +1,287 @@
+package cz.cvut.fel.parser.Drawio;
+
+import cz.cvut.fel.enums.Cardinality;
+import cz.cvut.fel.enums.Coverage;
+import cz.cvut.fel.enums.Disjointness;
+import cz.cvut.fel.exception.CorruptedXmlException;
+import cz.cvut.fel.model.*;
+import cz.cvut.fel.parser.DiagramPage;
+import cz.cvut.fel.parser.PercentDecodingInputStream;
+import cz.cvut.fel.parser.StreamReaderFactory;
+import lombok.extern.java.Log;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Builds the Diagram of a single drawio page.
+ * Cells of inline pages are fed by DrawioStreamParser while it walks the file,
+ * compressed pages keep their deflated payload and read their cells only when built.
+ * Builders of different pages share no state, so they can be built concurrently.
+ *
+ * @see DrawioStreamParser
+ */
+@Log
+class DrawioPageBuilder {
+    private final int index;
+
+    private final String name;
+
+    /**
+     * Resulting diagram to be populated
+     */
+    private final Diagram diagram = new Diagram();
+
+    /**
+     * Edge cells in document order
+     */
+    private final List<EdgeCell> edges = new ArrayList<>();
+
+    /**
+     * Label values of cells placed inside another cell, keyed by the parent id
+     */
+    private final Map<String, List<String>> descriptions = new HashMap<>();
+
+    /**
+     * Raw deflated content of a compressed page, null for inline pages
+     */
+    private byte[] payload;
+
+    DrawioPageBuilder(int index, String name){
+        this.index = index;
+        this.name = name;
+    }
+
+    /**
+     * @param payload Base64 decoded content of a compressed page
+     */
+    void setPayload(byte[] payload){
+        this.payload = payload;
+    }
+
+    /**
+     * Reads cells of a compressed page, if any, adds recorded edges to the diagram
+     * and gives entities their underlined key attributes.
+     * @return parsed page
+     * @throws CorruptedXmlException if the compressed page cannot be read
+     */
+    DiagramPage build() throws CorruptedXmlException {
+        if(Objects.nonNull(payload)){
+            readCompressedCells();
+        }
+        addEdgesToDiagram();
+        addKeysToEntities();
+        return new DiagramPage(index, name, diagram);
+    }
+
+    /**
+     * Reads a page saved as raw deflated and URI encoded text.
+     * The payload is inflated and decoded as a chain of streams feeding a nested XML reader,
+     * so the inflated document is never held in memory as a whole.
+     */
+    private void readCompressedCells(){
+        log.log(Level.FINE, "Inflating compressed diagram");
+        Inflater inflater = new Inflater(true);
+        try(InputStream xml = new PercentDecodingInputStream(new InflaterInputStream(
+                new ByteArrayInputStream(payload), inflater, 8192))){
+            XMLStreamReader reader = StreamReaderFactory.createReader(xml);
+            try{
+                int event = reader.getEventType();
+                while(true){
+                    if(event == XMLStreamConstants.START_ELEMENT
+                            && XMLTags.CELL.getValue().equals(reader.getLocalName())){
+                        readCell(reader);
+                    }
+                    if(!reader.hasNext()){
+                        break;
+                    }
+                    event = reader.next();
+                }
+            }
+            finally{
+                reader.close();
+            }
+        }
+        catch(IOException | XMLStreamException e){
+            throw new CorruptedXmlException("Compressed diagram could not be read", e);
+        }
+        finally{
+            inflater.end();
+            payload = null;
+        }
+    }
+
+    /**
+     * Categorizes a single cell. Vertices are added to the diagram right away,
+     * edges and descriptions are recorded for later resolution.
+     * @param reader reader positioned at an mxCell start element
+     */
+    void readCell(XMLStreamReader reader){
+        String parent = reader.getAttributeValue(null, XMLTags.PARENT_ATTRIBUTE.getValue());
+        if(Objects.isNull(parent)){
+            return;
+        }
+
+        if(Objects.nonNull(reader.getAttributeValue(null, XMLTags.EDGE_ATTRIBUTE.getValue()))){
+            edges.add(new EdgeCell(
+                    attribute(reader, XMLTags.ID_ATTRIBUTE).strip(),
+                    attribute(reader, XMLTags.SOURCE_ATTRIBUTE).strip(),
+                    attribute(reader, XMLTags.TARGET_ATTRIBUTE).strip(),
+                    DrawioStyle.of(attribute(reader, XMLTags.STYLE_ATTRIBUTE))));
+        }
+        else if(Objects.nonNull(reader.getAttributeValue(null, XMLTags.VERTEX_ATTRIBUTE.getValue()))){
+            if(parent.strip().equals("1")){
+                addVertex(attribute(reader, XMLTags.NAME_ATTRIBUTE).strip(),
+                        attribute(reader, XMLTags.ID_ATTRIBUTE).strip(),
+                        DrawioStyle.of(attribute(reader, XMLTags.STYLE_ATTRIBUTE)));
+            }
+            else{
+                descriptions.computeIfAbsent(parent, (id) -> new ArrayList<>(2))
+                        .add(attribute(reader, XMLTags.NAME_ATTRIBUTE));
+            }
+        }
+    }
+
+    /**
+     * Adds a Vertex to the diagram.
+     * Corresponding Vertices are decided by the classification of their style.
+     * @param name vertex label
+     * @param id vertex id
+     * @param style vertex style
+     */
+    private void addVertex(String name, String id, DrawioStyle style){
+        switch(style.getVertexKind()){
+            case ATTRIBUTE:
+                diagram.addVertex(new Attribute(name, id, false));
+                break;
+            case KEY_ATTRIBUTE:
+                diagram.addVertex(new Attribute(name, id, true));
+                break;
+            case RELATIONSHIP:
+                diagram.addVertex(new Relationship(name, id));
+                break;
+            case WEAK_ENTITY:
+                diagram.addVertex(new Entity(name, id, true));
+                break;
+            default:
+                diagram.addVertex(new Entity(name, id, false));
+        }
+    }
+
+    /**
+     * Adds recorded edges to the diagram, either as Edges or Generalizations.
+     */
+    private void addEdgesToDiagram(){
+        for(EdgeCell edge : edges){
+            try{
+                if(edge.style.getEdgeKind() == StyleKind.EDGE){
+                    addEdge(edge);
+                }
+                else{
+                    addGeneralization(edge);
+                }
+            }
+            catch(RuntimeException e){
+                log.log(Level.WARNING, "Exception while parsing edge", e);
+            }
+        }
+    }
+
+    /**
+     * Gives entities the key attributes connected to them.
+     * Drawio vertices do not keep their edges, so keys are found from the diagram edges
+     * instead of Diagram.addKeysToEntities.
+     */
+    private void addKeysToEntities(){
+        for(Edge edge : diagram.getEdges()){
+            if(!edge.isFullyConnected() || !edge.isAttributeConnection()){
+                continue;
+            }
+            Vertex entity = edge.getSource().isEntity() ? edge.getSource() : edge.getTarget();
+            Vertex attribute = edge.getOtherParticipant(entity);
+            if(entity.isEntity() && attribute.isAttribute() && Boolean.TRUE.equals(((Attribute) attribute).getIsKey())){
+                ((Entity) entity).addKey((Attribute) attribute);
+            }
+        }
+    }
+
+        private void addGeneralization(EdgeCell edge){
+        Vertex source = diagram.findVertexById(edge.target).orElse(null);
+        Vertex target = diagram.findVertexById(edge.source).orElse(null);
+        List<String> edgeDescriptions = descriptions.getOrDefault(edge.id, List.of());
+
+        Coverage coverage = edgeDescriptions.stream()
+                .map(String::strip)
+                .map(Coverage::decideCoverage)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
+
+        Disjointness disjointness = edgeDescriptions.stream()
+                .map(String::strip)
+                .map(Disjointness::decideDisjointness)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
+
+        diagram.addEdge(Generalization.GeneralizationBuilder().id(edge.id)
+                .source(source)
+                .target(target)
+                .covering(coverage)
+                .disjointness(disjointness)
+                .build());
+    }
+
+    private void addEdge(EdgeCell edge){
+        Vertex source = diagram.findVertexById(edge.target).orElse(null);
+        Vertex target = diagram.findVertexById(edge.source).orElse(null);
+
+        Cardinality cardinality = descriptions.getOrDefault(edge.id, List.of()).stream()
+                .map(Cardinality::decideCardinality)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
+
+        diagram.addEdge(Edge.builder().id(edge.id)
+                .source(source)
+                .target(target)
+                .cardinality(cardinality)
+                .build());
+    }
+
+    /**
+     * Reads an attribute of the current element
+     * @param reader reader positioned at a start element
+     * @param tag attribute name
+     * @return attribute value or empty string if it is missing
+     */
+    private static String attribute(XMLStreamReader reader, XMLTags tag){
+        String value = reader.getAttributeValue(null, tag.getValue());
+        return Objects.isNull(value) ? "" : value;
+    }
+
+    /**
+     * Compact record of an edge cell
+     */
+    private static final class EdgeCell {
+        private final String id;
+        private final String source;
+        private final String target;
+        private final DrawioStyle style;
+
+        private EdgeCell(String id, String source, String target, DrawioStyle style){
+            this.id = id;
+            this.source = source;
+            this.target = target;
+            this.style = style;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package cz.cvut.fel.parser.Drawio;
+
+import cz.cvut.fel.exception.CorruptedXmlException;
+import cz.cvut.fel.model.Diagram;
+import cz.cvut.fel.parser.DiagramPage;
+import cz.cvut.fel.parser.PageSelector;
+import cz.cvut.fel.parser.StreamParser;
+import lombok.extern.java.Log;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
+
+/**
+ * The DrawioStreamParser class is a StAX parser for diagrams created in app.diagrams.net.
+ * Every diagram element of the file is a separate page parsed into its own Diagram,
+ * no DOM tree of the file is built.
+ * Both inline and compressed pages are supported.
+ * Vertices of inline pages are added to their diagram as soon as they are read.
+ * Edges are resolved once the file is read, independent pages are finished concurrently
+ * on the common fork join pool.
+ *
+ * @see DrawioPageBuilder
+ */
+@Log
+public class DrawioStreamParser implements StreamParser {
+
+    /**
+     * Parses the first page of the file.
+     *
+     * @param reader XML stream of a drawio file
+     * @return Diagram of the first page, empty Diagram if the file has no pages
+     * @throws CorruptedXmlException if the stream is not well-formed or any cell parsing errors occur
+     * @see Diagram
+     */
+    @Override
+    public Diagram parse(XMLStreamReader reader) throws CorruptedXmlException {
+        List<DiagramPage> pages = parsePages(reader, PageSelector.byIndex(0));
+        return pages.isEmpty() ? new Diagram() : pages.get(0).getDiagram();
+    }
+
+    /**
+     * Reads selected pages of the file into separate Diagrams.
+     * Cells found outside any diagram element form a single unnamed page.
+     *
+     * @param reader XML stream of a drawio file
+     * @param selector pages to be parsed
+     * @return selected pages in file order
+     * @throws CorruptedXmlException if the stream is not well-formed or any cell parsing errors occur
+     */
+    @Override
+    public List<DiagramPage> parsePages(XMLStreamReader reader, PageSelector selector) throws CorruptedXmlException {
+        log.log(Level.FINE, "Parsing with drawio stream parser");
+        List<DrawioPageBuilder> pages;
+        try {
+            pages = readPages(reader, selector);
+        }
+        catch(XMLStreamException | IOException | RuntimeException e){
+            throw new CorruptedXmlException(e);
+        }
+
+        if(pages.size() == 1){
+            return List.of(pages.get(0).build());
+        }
+
+        List<CompletableFuture<DiagramPage>> futures = pages.stream()
+                .map(page -> CompletableFuture.supplyAsync(page::build))
+                .collect(Collectors.toList());
+        try{
+            return futures.stream()
+                    .map(CompletableFuture::join)
+                    .collect(Collectors.toList());
+        }
+        catch(CompletionException e){
+            if(e.getCause() instanceof CorruptedXmlException){
+                throw (CorruptedXmlException) e.getCause();
+            }
+            throw new CorruptedXmlException(e.getCause());
+        }
+    }
+
+    /**
+     * Walks the stream and feeds cells of selected pages to their builders.
+     * Compressed payloads of selected pages are only Base64 decoded here, unselected pages are skipped.
+     * @param reader XML stream of a drawio file
+     * @param selector pages to be read
+     * @return builders of selected pages in file order
+     * @throws XMLStreamException if the stream is not well-formed
+     * @throws IOException if a compressed payload is not valid Base64
+     */
+    private List<DrawioPageBuilder> readPages(XMLStreamReader reader, PageSelector selector)
+            throws XMLStreamException, IOException {
+        List<DrawioPageBuilder> pages = new ArrayList<>();
+        DrawioPageBuilder page = null;
+        int pageIndex = -1;
+        boolean diagramStarted = false;
+
+        int event = reader.getEventType();
+        while(true){
+            if(event == XMLStreamConstants.START_ELEMENT){
+                diagramStarted = XMLTags.DIAGRAM.getValue().equals(reader.getLocalName());
+                if(diagramStarted){
+                    pageIndex++;
+                    String name = reader.getAttributeValue(null, XMLTags.PAGE_NAME_ATTRIBUTE.getValue());
+                    page = startPage(pages, selector, pageIndex, Objects.requireNonNullElse(name, ""));
+                }
+                else if(XMLTags.CELL.getValue().equals(reader.getLocalName())){
+                    if(pageIndex < 0){
+                        pageIndex++;
+                        page = startPage(pages, selector, pageIndex, "");
+                    }
+                    if(Objects.nonNull(page)){
+                        page.readCell(reader);
+                    }
+                }
+            }
+            else if(diagramStarted && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)
+                    && !reader.isWhiteSpace()){
+                diagramStarted = false;
+                readPayload(reader, page);
+                //reader was left at the end of the page
+                event = reader.getEventType();
+                continue;
+            }
+            else if(event == XMLStreamConstants.END_ELEMENT){
+                diagramStarted = false;
+                if(XMLTags.DIAGRAM.getValue().equals(reader.getLocalName())){
+                    page = null;
+                    if(selector.isExhausted(pageIndex)){
+                        break;
+                    }
+                }
+            }
+
+            if(!reader.hasNext()){
+                break;
+            }
+            event = reader.next();
+        }
+        return pages;
+    }
+
+    private DrawioPageBuilder startPage(List<DrawioPageBuilder> pages, PageSelector selector, int index, String name){
+        if(!selector.test(index, name)){
+            log.log(Level.FINER, "Skipping page {0}", index);
+            return null;
+        }
+        DrawioPageBuilder page = new DrawioPageBuilder(index, name);
+        pages.add(page);
+        return page;
+    }
+
+    /**
+     * Reads a page saved as Base64 encoded text, the decoded payload is inflated only when the page is built.
+     * @param reader reader positioned at the first text event of the diagram element,
+     *               left at the diagram end element
+     * @param page builder of the page, null if the page is skipped
+     * @throws IOException if the payload is not valid Base64
+     */
+    private void readPayload(XMLStreamReader reader, DrawioPageBuilder page) throws IOException {
+        try(InputStream text = new ElementTextInputStream(reader)){
+            if(Objects.nonNull(page)){
+                page.setPayload(Base64.getMimeDecoder().wrap(text).readAllBytes());
+            }
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package cz.cvut.fel.parser.Drawio;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable view of a drawio style attribute.
+ * Style strings are split once into their "key=value" parts, bare style names
+ * (such as "ellipse") are stored as keys with an empty value.
+ * Only parts needed for classification are kept, values such as embedded images are skipped.
+ * Cell classification is decided from the parsed parts instead of matching
+ * the whole style string against regular expressions for every cell.
+ * Diagrams reuse only a handful of distinct styles, so instances are interned
+ * and shared by style string.
+ *
+ * @see StyleKind
+ */
+public final class DrawioStyle {
+    /**
+     * Upper bound of cached styles, the cache is cleared when it is reached.
+     * Protects the cache from documents with many unique styles and keeps it current in long-running processes.
+     */
+    private static final int CACHE_LIMIT = 1024;
+
+    /**
+     * Longer style strings are not cached, so that styles with embedded images are not kept in memory
+     */
+    private static final int MAX_CACHED_LENGTH = 1024;
+
+    /**
+     * Longer values are never needed for classification
+     */
+    private static final int MAX_VALUE_LENGTH = 64;
+
+    private static final String DATA_URI = "data:";
+
+    private static final String BASE64_MARKER = ";base64,";
+
+    /**
+     * Style keys and names used for classification, all other parts are dropped
+     */
+    private static final List<String> CLASSIFIER_KEYS = List.of(
+            Tokens.ATTRIBUTE.getValue(),
+            Tokens.MULTIVALUED_ATTRIBUTE.getValue(),
+            Tokens.RELATIONSHIP.getValue(),
+            Tokens.SHAPE.getValue(),
+            Tokens.DOUBLE.getValue(),
+            Tokens.FONT_STYLE.getValue(),
+            Tokens.END_ARROW.getValue());
+
+    /**
+     * Font style bit marking underlined text
+     */
+    private static final int UNDERLINE = 4;
+
+    private static final Map<String, DrawioStyle> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Classifier style parts, keys mapped to values
+     */
+    private final Map<String, String> values;
+
+    /**
+     * Classification of the style used by a vertex cell
+     */
+    private final StyleKind vertexKind;
+
+    /**
+     * Classification of the style used by an edge cell
+     */
+    private final StyleKind edgeKind;
+
+    private DrawioStyle(Map<String, String> values){
+        this.values = Collections.unmodifiableMap(values);
+        this.vertexKind = classifyVertex();
+        this.edgeKind = classifyEdge();
+    }
+
+    /**
+     * Returns the parsed style for a style attribute, parsing it only on first use.
+     * @param style value of the style attribute, may be null
+     * @return shared immutable style
+     */
+    public static DrawioStyle of(String style){
+        String key = Objects.isNull(style) ? "" : style;
+        DrawioStyle cached = cache.get(key);
+        if(Objects.nonNull(cached)){
+            return cached;
+        }
+
+        DrawioStyle parsed = new DrawioStyle(parse(key));
+        if(key.length() <= MAX_CACHED_LENGTH){
+            if(cache.size() >= CACHE_LIMIT){
+                cache.clear();
+            }
+            cached = cache.putIfAbsent(key, parsed);
+        }
+        return Objects.isNull(cached) ? parsed : cached;
+    }
+
+    /**
+     * Splits the style into parts and keeps only those used for classification.
+     * Other parts are skipped without being copied, including embedded data URI images.
+     */
+    private static Map<String, String> parse(String style){
+        Map<String, String> values = new HashMap<>();
+        int length = style.length();
+        int start = 0;
+        while(start < length){
+            int end = style.indexOf(';', start);
+            if(end < 0){
+                end = length;
+            }
+            int separator = start;
+            while(separator < end && style.charAt(separator) != '='){
+                separator++;
+            }
+            if(separator == end){
+                separator = -1;
+            }
+
+            if(separator >= 0 && isDataUri(style, separator + 1, end)){
+                end = skipDataUri(style, end);
+            }
+
+            String key = classifierKey(style, start, separator < 0 ? end : separator);
+            if(Objects.nonNull(key)){
+                String value = separator < 0 ? "" : style.substring(separator + 1, end).strip();
+                if(value.length() <= MAX_VALUE_LENGTH){
+                    values.putIfAbsent(key, value);
+                }
+            }
+            start = end + 1;
+        }
+        return values;
+    }
+
+    /**
+     * @return classifier key equal to the given part of the style, null if the part is not used
+     */
+    private static String classifierKey(String style, int start, int end){
+        while(start < end && Character.isWhitespace(style.charAt(start))){
+            start++;
+        }
+        while(end > start && Character.isWhitespace(style.charAt(end - 1))){
+            end--;
+        }
+        for(String key : CLASSIFIER_KEYS){
+            if(key.length() == end - start && style.regionMatches(start, key, 0, key.length())){
+                return key;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isDataUri(String style, int start, int end){
+        while(start < end && Character.isWhitespace(style.charAt(start))){
+            start++;
+        }
+        return style.startsWith(DATA_URI, start);
+    }
+
+    /**
+     * Data URIs may contain ";base64," which is not a style separator
+     * @param end end of the part containing the start of the data URI
+     * @return end of the whole data URI
+     */
+    private static int skipDataUri(String style, int end){
+        if(style.startsWith(BASE64_MARKER, end)){
+            int next = style.indexOf(';', end + 1);
+            return next < 0 ? style.length() : next;
+        }
+        return end;
+    }
+
+    private StyleKind classifyVertex(){
+        if(hasShape(Tokens.ATTRIBUTE) || hasShape(Tokens.MULTIVALUED_ATTRIBUTE)){
+            return isUnderlined() ? StyleKind.KEY_ATTRIBUTE : StyleKind.ATTRIBUTE;
+        }
+        if(hasShape(Tokens.RELATIONSHIP)){
+            return StyleKind.RELATIONSHIP;
+        }
+        return isDoubled() ? StyleKind.WEAK_ENTITY : StyleKind.ENTITY;
+    }
+
+    private StyleKind classifyEdge(){
+        return Tokens.NO_ARROW.getValue().equals(values.get(Tokens.END_ARROW.getValue()))
+                ? StyleKind.EDGE
+                : StyleKind.GENERALIZATION;
+    }
+
+    /**
+     * Shapes are given either as a bare style name or as the shape key value
+     */
+    private boolean hasShape(Tokens shape){
+        return values.containsKey(shape.getValue())
+                || shape.getValue().equals(values.get(Tokens.SHAPE.getValue()));
+    }
+
+    private boolean isDoubled(){
+        return toInt(values.get(Tokens.DOUBLE.getValue())) > 0;
+    }
+
+    private boolean isUnderlined(){
+        return (toInt(values.get(Tokens.FONT_STYLE.getValue())) & UNDERLINE) != 0;
+    }
+
+    private static int toInt(String value){
+        if(Objects.isNull(value)){
+            return 0;
+        }
+        try{
+            return Integer.parseInt(value);
+        }
+        catch(NumberFormatException e){
+            return 0;
+        }
+    }
+
+    /**
+     * @param key style key or bare style name used for classification
+     * @return value of the key, empty string for bare style names, null if not present or not kept
+     */
+    public String get(String key){
+        return values.get(key);
+    }
+
+    /**
+     * @return unmodifiable map of style parts used for classification
+     */
+    public Map<String, String> getValues(){
+        return values;
+    }
+
+    /**
+     * @return Entity-Relationship meaning of a vertex cell with this style
+     */
+    public StyleKind getVertexKind(){
+        return vertexKind;
+    }
+
+    /**
+     * @return Entity-Relationship meaning of an edge cell with this style
+     */
+    public StyleKind getEdgeKind(){
+        return edgeKind;
+    }
+}
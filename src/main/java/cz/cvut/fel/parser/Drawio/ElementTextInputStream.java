@@ -0,0 +1,107 @@
+package cz.cvut.fel.parser.Drawio;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Exposes text content of the current element of an XMLStreamReader as a stream of bytes.
+ * Text events are pulled from the reader only when the stream is read,
+ * so the content is never held as a whole. Only single byte characters are expected,
+ * such as the Base64 payload of compressed drawio diagrams.
+ * Closing the stream skips the rest of the element, leaving the reader at its end element.
+ */
+class ElementTextInputStream extends InputStream {
+    private final XMLStreamReader reader;
+
+    private byte[] buffer = new byte[0];
+    private int position;
+    private int limit;
+    private boolean finished;
+
+    /**
+     * @param reader reader positioned at a text event of the element
+     */
+    ElementTextInputStream(XMLStreamReader reader){
+        this.reader = reader;
+        copyText();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if(!fill()){
+            return -1;
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if(length == 0){
+            return 0;
+        }
+        if(!fill()){
+            return -1;
+        }
+        int count = Math.min(length, limit - position);
+        System.arraycopy(buffer, position, bytes, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        position = limit;
+        while(fill()){
+            position = limit;
+        }
+    }
+
+    /**
+     * Makes sure there are unread bytes in the buffer, advancing the reader if needed
+     * @return false if the end of the element was reached
+     */
+    private boolean fill() throws IOException {
+        try{
+            while(position >= limit){
+                if(finished){
+                    return false;
+                }
+                int event = reader.next();
+                if(event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                        || event == XMLStreamConstants.SPACE){
+                    copyText();
+                }
+                else if(event == XMLStreamConstants.END_ELEMENT){
+                    finished = true;
+                }
+                else if(event == XMLStreamConstants.START_ELEMENT){
+                    throw new IOException("Unexpected element inside text content: " + reader.getLocalName());
+                }
+            }
+            return true;
+        }
+        catch(XMLStreamException e){
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Copies characters of the current text event, they are valid only until the reader advances
+     */
+    private void copyText(){
+        char[] text = reader.getTextCharacters();
+        int start = reader.getTextStart();
+        int length = reader.getTextLength();
+        if(buffer.length < length){
+            buffer = new byte[length];
+        }
+        for(int i = 0; i < length; i++){
+            buffer[i] = (byte) text[start + i];
+        }
+        position = 0;
+        limit = length;
+    }
+}
@@ -0,0 +1,15 @@
+package cz.cvut.fel.parser.Drawio;
+
+/**
+ * Entity-Relationship meaning of a drawio cell decided from its style
+ * @see DrawioStyle
+ */
+public enum StyleKind {
+    ENTITY,
+    WEAK_ENTITY,
+    ATTRIBUTE,
+    KEY_ATTRIBUTE,
+    RELATIONSHIP,
+    EDGE,
+    GENERALIZATION
+}
@@ -3,33 +3,38 @@ package cz.cvut.fel.parser.Drawio;
 
 /**
  *
- * Values of XML attributes used for parsing
+ * Style names, keys and values used for classifying drawio cells
  * @author Adam Skarda
  */
 public enum Tokens {
     /**
-     * Primary identification regex for Attributes, found inside style xml attribute.
+     * Shape of Attributes, used either as a style name or a shape value.
      */
-    ATTRIBUTE(".*ellipse.*"),
+    ATTRIBUTE("ellipse"),
     /**
-     *
+     * Shape of multivalued Attributes
      */
-    KEY_ATTRIBUTE(".*fontStyle=4.*"),
+    MULTIVALUED_ATTRIBUTE("doubleEllipse"),
     /**
-     *
+     * Shape of Relationships, used either as a style name or a shape value.
      */
-    MULTIVALUED_ATTRIBUTE(".*shape=doubleEllipse.*"),
-    WEAK_ATTRIBUTE(".*span\\sstyle=\"border-bottom:\\s[0-9]px dotted\".*"),
+    RELATIONSHIP("rhombus"),
 
-    //relationship primary
-    RELATIONSHIP(".*rhombus.*"),
-    WEAK_RELATIONSHIP(".*double=[1-9].*"),
-
-    WEAK_ENTITY(".*double=[1-9].*"),
+    SHAPE("shape"),
+    /**
+     * Doubled border, marks weak entities and identifying relationships
+     */
+    DOUBLE("double"),
+    /**
+     * Font style bit mask, underlined labels mark key attributes
+     */
+    FONT_STYLE("fontStyle"),
 
-    EDGE(".*endArrow=none.*"),
-    GENERALIZATION(""),
-    CARDINALITY("parent");
+    END_ARROW("endArrow"),
+    /**
+     * End arrow of plain edges, other edges are generalizations
+     */
+    NO_ARROW("none");
 
     private final String value;
     Tokens(String value){
@@ -6,6 +6,8 @@ package cz.cvut.fel.parser.Drawio;
  * @author Adam Skarda
  */
 public enum XMLTags {
+    DIAGRAM("diagram"),
+    PAGE_NAME_ATTRIBUTE("name"),
     CELL("mxCell"),
     PARENT_ATTRIBUTE("parent"),
     EDGE_ATTRIBUTE("edge"),
@@ -0,0 +1,390 @@
+package cz.cvut.fel.parser.Erdia;
+
+import cz.cvut.fel.enums.Cardinality;
+import cz.cvut.fel.enums.Coverage;
+import cz.cvut.fel.enums.Disjointness;
+import cz.cvut.fel.exception.CorruptedXmlException;
+import cz.cvut.fel.exception.ParserException;
+import cz.cvut.fel.model.*;
+import cz.cvut.fel.parser.StreamParser;
+import lombok.extern.java.Log;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
+
+/**
+ * The ErdiaStreamParser class is a StAX parser for XML files of Entity-Relationship diagram
+ * exported from online modeling tool erdia.stejspet.cz.
+ * The diagram is read in a single pass over mxCell elements without building a DOM tree.
+ * Vertices are added to the diagram as soon as they are read. Edges may reference cells
+ * defined later in the document, so they are kept as small cell records and resolved at the end.
+ */
+@Log
+public class ErdiaStreamParser implements StreamParser {
+    /**
+     * Resulting diagram to be populated, connected and transformed
+     */
+    private final Diagram diagram = new Diagram();
+
+    /**
+     * Cells identified by xml attribute "edge" in document order
+     */
+    private final List<Cell> edges = new ArrayList<>();
+
+    /**
+     * Cells identified by xml attribute "vertex" keyed by their id, first occurrence is kept
+     */
+    private final Map<String, Cell> vertices = new HashMap<>();
+
+    /**
+     * Edge cells keyed by the id of their source cell, in document order
+     */
+    private final Map<String, List<Cell>> edgesBySource = new HashMap<>();
+
+    /**
+     * Ids of composite identifier cells in document order
+     */
+    private final List<String> compositeIds = new ArrayList<>();
+
+    /**
+     * Reads mxCell elements from the given stream into corresponding Diagram components.
+     * Vertices are created while reading, edges and composite identifiers once the stream is exhausted.
+     *
+     * @param reader XML stream of an erdia export
+     * @return Diagram of parsed cells
+     * @throws CorruptedXmlException if the stream is not well-formed or any cell parsing errors occur
+     * @see Diagram
+     */
+    @Override
+    public Diagram parse(XMLStreamReader reader) throws CorruptedXmlException {
+        log.log(Level.FINE, "Parsing with Erdia stream parser");
+        try{
+            readCells(reader);
+            addEdgesToDiagram();
+            addCompositeIdentifiersToDiagram();
+            diagram.addKeysToEntities();
+            diagram.identifyWeakEntities();
+        }
+        catch (XMLStreamException | RuntimeException e){
+            throw new CorruptedXmlException(e);
+        }
+        return diagram;
+    }
+
+    /**
+     * Walks the stream and records every mxCell together with the attributes of its first child element,
+     * which carries the erdia value (name, key, cardinality, hierarchy information).
+     * @param reader XML stream of an erdia export
+     * @throws XMLStreamException if the stream is not well-formed
+     */
+    private void readCells(XMLStreamReader reader) throws XMLStreamException {
+        Cell pending = null;
+        int event = reader.getEventType();
+        while(true){
+            if(event == XMLStreamConstants.START_ELEMENT){
+                if(Objects.nonNull(pending)){
+                    pending.readValue(reader);
+                    addCell(pending);
+                    pending = null;
+                }
+                if(XMLTags.CELL.getValue().equals(reader.getLocalName())){
+                    pending = new Cell(reader);
+                }
+            }
+            else if(event == XMLStreamConstants.END_ELEMENT && Objects.nonNull(pending)){
+                addCell(pending);
+                pending = null;
+            }
+
+            if(!reader.hasNext()){
+                break;
+            }
+            event = reader.next();
+        }
+    }
+
+    /**
+     * Sorts a fully read cell into its category. Vertices are added into the diagram right away.
+     * @param cell cell with its value already read
+     */
+    private void addCell(Cell cell){
+        if(cell.edge){
+            edges.add(cell);
+            edgesBySource.computeIfAbsent(cell.source.strip(), (id) -> new ArrayList<>(2)).add(cell);
+        }
+        else if(cell.vertex){
+            vertices.putIfAbsent(cell.id, cell);
+            if(cell.style.contains(Tokens.COMPOSITE_ID.getValue())){
+                compositeIds.add(cell.id);
+            }
+            addVertex(cell);
+        }
+    }
+
+    /**
+     * Adds a Vertex parsed from a vertex cell into the diagram.
+     * Parses cells by style attribute to Vertices - Attribute, Entity, Relationship,
+     * other vertex cells are only kept for edge resolution.
+     * @param cell vertex cell
+     * @see Vertex
+     */
+    private void addVertex(Cell cell){
+        if(cell.style.contains(Tokens.ENTITY.getValue())){
+            Entity entity = new Entity(requireValue(cell).name, cell.id);
+            diagram.addVertex(entity);
+            log.log(Level.FINER, () -> String.format("Added entity: %s", entity));
+        }
+        else if(cell.style.contains(Tokens.RELATIONSHIP.getValue())){
+            Relationship relationship = new Relationship(requireValue(cell).name, cell.id);
+            diagram.addVertex(relationship);
+            log.log(Level.FINER, () -> String.format("Added relationship: %s", relationship));
+        }
+        else if(cell.style.contains(Tokens.ATTRIBUTE.getValue())){
+            Attribute attribute = new Attribute(requireValue(cell).name, cell.id, cell.key);
+            diagram.addVertex(attribute);
+            log.log(Level.FINER, () -> String.format("Added attribute: %s", attribute));
+        }
+    }
+
+    /**
+     * Adds Connections to this diagram which link Diagram Vertices.
+     * Goes through recorded edge cells, finds their source and target
+     * and creates an edge based on the style attribute and additional information
+     * from vertex cells.
+     *
+     * @see Edge
+     */
+    private void addEdgesToDiagram(){
+        for(Cell edge : edges){
+            try{
+                String sourceId = edge.source.strip();
+                String targetId = edge.target.strip();
+                Vertex source = diagram.findVertexById(sourceId).orElse(null);
+                Vertex target = diagram.findVertexById(targetId).orElse(null);
+
+                if(Objects.nonNull(source) && Objects.nonNull(target)) {
+                    if (edge.style.contains(Tokens.ATTRIBUTE_CONNECTOR.getValue())) {
+                        addAttributeConnection(edge, source, target);
+                    } else if (edge.style.contains(Tokens.RELATIONSHIP_CONNECTOR.getValue())) {
+                        addRelationshipConnection(edge, source, target);
+                    }
+                }
+                else if(edge.style.contains(Tokens.SPECIALIZATION.getValue())){
+                    addGeneralization(edge, sourceId, target);
+                }
+            }
+            catch (RuntimeException e){
+                log.log(Level.WARNING, "Exception while parsing edge ", e);
+            }
+        }
+        diagram.organizeEdges();
+    }
+
+    /**
+     * Adds a hierarchical generalization edge to the diagram
+     * @param edge Edge cell connecting source hierarchy cell and target child entity
+     * @param sourceId cell id of connecting hierarchy
+     * @param target Child Entity from diagram to be connected to its parent through hierarchy
+     */
+    private void addGeneralization(Cell edge, String sourceId, Vertex target){
+        String id = edge.id.strip();
+
+        Cell sourceHierarchy = Optional.ofNullable(vertices.get(sourceId))
+                .orElseThrow(() ->
+                        new ParserException("Could not find source hierarchy id=" + sourceId +
+                                " for Generalization id=" + id));
+
+        //Finds a target entity for the generalization edge
+        //through the edge connecting associated hierarchy and the target entity
+        Vertex generalizationTarget = diagram.findVertexById(
+                        edgesBySource.getOrDefault(sourceId, List.of()).stream()
+                                .filter((generalization) -> generalization.style
+                                        .contains(Tokens.GENERALIZATION.getValue()))
+                                .findFirst()
+                                .orElseThrow(()-> new ParserException("Could not find Specialization "
+                                        + " edge  with  source hierarchy id=" + sourceId))
+                                .target
+                                .strip())
+                .orElseThrow(()->
+                        new ParserException("Could not find source entity forming a hierarchy with id=" + sourceId));
+
+        Cell hierarchyInfo = requireValue(sourceHierarchy);
+
+        Edge generalization = Generalization.GeneralizationBuilder().id(id)
+                .source(target)
+                .target(generalizationTarget)
+                .covering(hierarchyInfo.coverage)
+                .disjointness(hierarchyInfo.disjointness)
+                .build();
+
+        diagram.addEdge(generalization);
+        target.addEdge(generalization);
+        generalizationTarget.addEdge(generalization);
+        log.log(Level.FINER, () -> String.format("Added edge: %s", generalization));
+    }
+
+    /**
+     * Adds Connection joining relationship and an Entity to the diagram
+     * @param edge Edge cell connecting source and target Vertices
+     * @param source Diagram vertex either Entity or Relationship
+     * @param target Diagram vertex either Entity or Relationship
+     */
+    private void addRelationshipConnection(Cell edge, Vertex source, Vertex target){
+        Cell innerElement = requireValue(edge);
+        Edge relationshipEdge = Edge.builder().id(edge.id.strip())
+                .source(source)
+                .target(target)
+                .cardinality(innerElement.cardinality)
+                .build();
+        relationshipEdge.addDescription(innerElement.name);
+
+        diagram.addEdge(relationshipEdge);
+        source.addEdge(relationshipEdge);
+        target.addEdge(relationshipEdge);
+
+        log.log(Level.FINER, () -> String.format("Added edge: %s", relationshipEdge));
+    }
+
+    /**
+     * Adds Attribute connection to the diagram
+     * @param edge Edge cell connecting source and target
+     * @param source Diagram vertex
+     * @param target Diagram vertex
+     */
+    private void addAttributeConnection(Cell edge, Vertex source, Vertex target){
+        String id = edge.id.strip();
+
+        Cell originalAttribute = requireValue(Optional.ofNullable(vertices.get(source.getId()))
+                .orElseThrow(() ->
+                        new ParserException("Could not find source attribute id=" + source.getId() +
+                                " for AttributeConnector id=" + id)));
+
+        Edge attributeEdge = Edge.builder().id(id)
+                .source(source)
+                .target(target)
+                .cardinality(originalAttribute.cardinality)
+                .build();
+
+        diagram.addEdge(attributeEdge);
+        source.addEdge(attributeEdge);
+        target.addEdge(attributeEdge);
+
+        log.log(Level.FINER, () -> String.format("Added edge: %s", attributeEdge));
+    }
+
+    /**
+     * Adds composite identifiers to the Diagram.
+     * Composite member cells are edges from the composite cell to the member Edge.
+     * Edges must be first organized before adding Composites.
+     *
+     * @see Composite
+     */
+    private void addCompositeIdentifiersToDiagram(){
+        for(String vertexId : compositeIds){
+            try{
+                List<Edge> compositeMemberEdges = edgesBySource.getOrDefault(vertexId, List.of()).stream()
+                        .map((edge) -> diagram.findEdgeById(edge.target).orElse(null))
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList());
+
+                if(compositeMemberEdges.isEmpty()){
+                    continue;
+                }
+
+                //is always entity in organized diagram
+                Entity associatedEntity = (Entity) compositeMemberEdges.get(0).getTarget();
+
+                Composite composite = new Composite(associatedEntity, vertexId);
+                compositeMemberEdges.forEach((edge) -> composite.addCompositeMember(edge, edge.getSource()));
+                diagram.addComposite(composite);
+                log.log(Level.FINER, () -> String.format("Added composite: %s", composite));
+            }
+            catch (RuntimeException e){
+                log.log(Level.WARNING, "Exception while parsing edge ", e);
+            }
+        }
+    }
+
+    /**
+     * Ensures a cell had a value element, without one the cell carries no erdia information
+     * @param cell cell to be checked
+     * @return given cell
+     * @throws ParserException if the cell had no child element
+     */
+    private static Cell requireValue(Cell cell){
+        if(!cell.hasValue){
+            throw new ParserException("Cell id=" + cell.id + " has no value element");
+        }
+        return cell;
+    }
+
+    /**
+     * Reads an attribute of the current element
+     * @param reader reader positioned at a start element
+     * @param tag attribute name
+     * @return attribute value or empty string if it is missing
+     */
+    private static String attribute(XMLStreamReader reader, XMLTags tag){
+        String value = reader.getAttributeValue(null, tag.getValue());
+        return Objects.isNull(value) ? "" : value;
+    }
+
+    /**
+     * Compact record of a single mxCell element and the erdia information of its value element.
+     */
+    private static final class Cell {
+        private final String id;
+        private final String style;
+        private final String source;
+        private final String target;
+        private final boolean edge;
+        private final boolean vertex;
+
+        private boolean hasValue = false;
+        private String name = "";
+        private boolean key = false;
+        private Cardinality cardinality = Cardinality.NO_CARDINALITY;
+        private Coverage coverage = Coverage.NOT_RECOGNIZED;
+        private Disjointness disjointness = Disjointness.NOT_RECOGNIZED;
+
+        private Cell(XMLStreamReader reader){
+            id = attribute(reader, XMLTags.ID_ATTRIBUTE);
+            style = attribute(reader, XMLTags.STYLE_ATTRIBUTE);
+            source = attribute(reader, XMLTags.SOURCE_ATTRIBUTE);
+            target = attribute(reader, XMLTags.TARGET_ATTRIBUTE);
+            edge = Objects.nonNull(reader.getAttributeValue(null, XMLTags.EDGE_ATTRIBUTE.getValue()));
+            vertex = Objects.nonNull(reader.getAttributeValue(null, XMLTags.VERTEX_ATTRIBUTE.getValue()));
+        }
+
+        /**
+         * Reads the attributes of the value element
+         * @param reader reader positioned at the first child element of this cell
+         */
+        private void readValue(XMLStreamReader reader){
+            hasValue = true;
+            name = attribute(reader, XMLTags.NAME_ATTRIBUTE);
+            key = attribute(reader, XMLTags.KEY_ATTRIBUTE).equals("1");
+
+            String min = reader.getAttributeValue(null, XMLTags.CARDINALITY_MIN_ATTRIBUTE.getValue());
+            String max = reader.getAttributeValue(null, XMLTags.CARDINALITY_MAX_ATTRIBUTE.getValue());
+            if(Objects.nonNull(min) || Objects.nonNull(max)){
+                cardinality = Cardinality.decideCardinality(Objects.isNull(min) ? "" : min,
+                        Objects.isNull(max) ? "" : max);
+            }
+
+            String covering = reader.getAttributeValue(null, XMLTags.COVERAGE_ATTRIBUTE.getValue());
+            if(Objects.nonNull(covering)){
+                coverage = Coverage.decideCoverage(covering);
+            }
+
+            String disjoint = reader.getAttributeValue(null, XMLTags.DISJOINTNESS_ATTRIBUTE.getValue());
+            if(Objects.nonNull(disjoint)){
+                disjointness = Disjointness.decideDisjointness(disjoint);
+            }
+        }
+    }
+}
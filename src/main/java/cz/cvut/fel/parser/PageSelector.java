@@ -0,0 +1,105 @@
+package cz.cvut.fel.parser;
+
+import java.util.Objects;
+
+/**
+ * Decides which pages of a diagram file are parsed.
+ * Pages that are not selected are skipped without building their Diagram.
+ * Selectors are stateless and may be shared between parses.
+ * @see DiagramPage
+ */
+public abstract class PageSelector {
+    private static final String NAME_PREFIX = "name:";
+    private static final String INDEX_PREFIX = "index:";
+
+    /**
+     * @param index position of the page in the file, starting from 0
+     * @param name page name
+     * @return true if the page should be parsed
+     */
+    public abstract boolean test(int index, String name);
+
+    /**
+     * @return true if no page after the given one can be selected, so the rest of the file may be skipped
+     */
+    public abstract boolean isExhausted(int index);
+
+    /**
+     * @return selector of every page
+     */
+    public static PageSelector all(){
+        return new PageSelector() {
+            @Override
+            public boolean test(int index, String name) {
+                return true;
+            }
+
+            @Override
+            public boolean isExhausted(int index) {
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @param pageIndex position of the page, starting from 0
+     * @return selector of the page at the given position
+     */
+    public static PageSelector byIndex(int pageIndex){
+        return new PageSelector() {
+            @Override
+            public boolean test(int index, String name) {
+                return index == pageIndex;
+            }
+
+            @Override
+            public boolean isExhausted(int index) {
+                return index >= pageIndex;
+            }
+        };
+    }
+
+    /**
+     * @param pageName page name
+     * @return selector of pages with the given name
+     */
+    public static PageSelector byName(String pageName){
+        return new PageSelector() {
+            @Override
+            public boolean test(int index, String name) {
+                return Objects.equals(pageName, name);
+            }
+
+            @Override
+            public boolean isExhausted(int index) {
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Selector given by a user. Pages are chosen explicitly by "name:" or "index:" prefixed values,
+     * so that pages named by a number can be selected. Values without a prefix are page indexes
+     * if they are numbers and page names otherwise.
+     * @param page page index or name, optionally prefixed by "index:" or "name:"
+     * @return selector of the given page
+     * @throws IllegalArgumentException if an "index:" value is not a page index
+     */
+    public static PageSelector parse(String page){
+        String stripped = page.strip();
+        if(stripped.startsWith(NAME_PREFIX)){
+            return byName(stripped.substring(NAME_PREFIX.length()));
+        }
+        if(stripped.startsWith(INDEX_PREFIX)){
+            String index = stripped.substring(INDEX_PREFIX.length()).strip();
+            if(!index.matches("\\d{1,9}")){
+                throw new IllegalArgumentException(String.format("Page index %s is not a number", index));
+            }
+            return byIndex(Integer.parseInt(index));
+        }
+        if(stripped.matches("\\d{1,9}")){
+            return byIndex(Integer.parseInt(stripped));
+        }
+        return byName(stripped);
+    }
+}
@@ -0,0 +1,96 @@
+package cz.cvut.fel.parser;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reverses URI component encoding of a byte stream, "%XX" escapes are replaced by the escaped byte.
+ * Drawio encodes the diagram with encodeURIComponent before compressing it or embedding it into an image,
+ * so '+' is kept as is and decoded bytes form UTF-8 text.
+ */
+public class PercentDecodingInputStream extends FilterInputStream {
+    private final byte[] buffer = new byte[8192];
+    private int position;
+    private int limit;
+
+    public PercentDecodingInputStream(InputStream in){
+        super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if(!fill()){
+            return -1;
+        }
+        return decodeNext();
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if(length == 0){
+            return 0;
+        }
+        if(!fill()){
+            return -1;
+        }
+        int count = 0;
+        while(count < length && (position < limit || (count == 0 && fill()))){
+            bytes[offset + count++] = (byte) decodeNext();
+        }
+        return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while(skipped < n && read() >= 0){
+            skipped++;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return limit - position;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * Decodes one byte from the buffer, which must not be empty
+     */
+    private int decodeNext() throws IOException {
+        int value = buffer[position++] & 0xFF;
+        if(value != '%'){
+            return value;
+        }
+        return (hexDigit() << 4) | hexDigit();
+    }
+
+    private int hexDigit() throws IOException {
+        if(!fill()){
+            throw new IOException("Truncated percent escape");
+        }
+        int digit = Character.digit(buffer[position++], 16);
+        if(digit < 0){
+            throw new IOException("Invalid percent escape");
+        }
+        return digit;
+    }
+
+    private boolean fill() throws IOException {
+        while(position >= limit){
+            int count = in.read(buffer, 0, buffer.length);
+            if(count < 0){
+                return false;
+            }
+            position = 0;
+            limit = count;
+        }
+        return true;
+    }
+}
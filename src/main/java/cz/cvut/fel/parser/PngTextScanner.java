@@ -0,0 +1,167 @@
+package cz.cvut.fel.parser;
+
+import lombok.extern.java.Log;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Finds the diagram file embedded in PNG images exported by app.diagrams.net.
+ * The image is walked chunk by chunk, only tEXt and zTXt chunks are read,
+ * all other chunks including image data are skipped without being decoded.
+ * Chunk checksums are not verified.
+ */
+@Log
+public final class PngTextScanner {
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    /**
+     * Keywords of text chunks holding the diagram
+     */
+    private static final Set<String> KEYWORDS = Set.of("mxfile", "mxGraphModel");
+
+    private static final int TEXT = chunkType("tEXt");
+    private static final int COMPRESSED_TEXT = chunkType("zTXt");
+    private static final int END = chunkType("IEND");
+
+    /**
+     * Longest text chunk read, longer chunks are rejected before they are allocated
+     */
+    static final int MAX_TEXT_LENGTH = 16 * 1024 * 1024;
+
+    private static final int CHUNK_HEADER_LENGTH = 8;
+    private static final int CRC_LENGTH = 4;
+
+    private PngTextScanner(){
+    }
+
+    /**
+     * Checks the PNG signature without consuming the stream.
+     * @param input stream supporting mark and reset
+     * @return true if the stream starts with the PNG signature
+     * @throws IOException if reading fails
+     */
+    public static boolean isPng(InputStream input) throws IOException {
+        input.mark(SIGNATURE.length);
+        byte[] start = input.readNBytes(SIGNATURE.length);
+        input.reset();
+        return Arrays.equals(start, SIGNATURE);
+    }
+
+    /**
+     * Reads chunks of a PNG image until the one holding the diagram is found.
+     * @param input PNG image stream positioned at its signature
+     * @return stream of the embedded diagram XML
+     * @throws IOException if the image is not a valid PNG or contains no diagram
+     */
+    public static InputStream extractDiagram(InputStream input) throws IOException {
+        log.log(Level.FINE, "Extracting diagram from PNG image");
+        ReadableByteChannel channel = Channels.newChannel(input);
+        ByteBuffer header = ByteBuffer.allocate(CHUNK_HEADER_LENGTH);
+
+        readFully(channel, header.limit(SIGNATURE.length));
+        if(!Arrays.equals(Arrays.copyOf(header.array(), SIGNATURE.length), SIGNATURE)){
+            throw new IOException("Not a PNG image");
+        }
+
+        ByteBuffer skipped = ByteBuffer.allocate(8192);
+        while(true){
+            readFully(channel, header.clear());
+            int length = header.getInt(0);
+            int type = header.getInt(4);
+            if(length < 0){
+                throw new IOException("Invalid PNG chunk length");
+            }
+            if(type == END){
+                throw new IOException("PNG image does not contain a diagram");
+            }
+
+            if(type == TEXT || type == COMPRESSED_TEXT){
+                if(length > MAX_TEXT_LENGTH){
+                    throw new IOException(String.format("PNG text chunk of %d bytes exceeds %d bytes", length, MAX_TEXT_LENGTH));
+                }
+                ByteBuffer data = ByteBuffer.allocate(length);
+                readFully(channel, data);
+                skip(channel, skipped, CRC_LENGTH);
+
+                InputStream diagram = readTextChunk(data.array(), type == COMPRESSED_TEXT);
+                if(diagram != null){
+                    return diagram;
+                }
+            }
+            else{
+                skip(channel, skipped, (long) length + CRC_LENGTH);
+            }
+        }
+    }
+
+    /**
+     * @param data chunk data, a keyword terminated by zero byte followed by the text
+     * @param compressed true for zTXt chunks with a compression method byte and zlib compressed text
+     * @return stream of the diagram XML or null if the chunk holds another text
+     */
+    private static InputStream readTextChunk(byte[] data, boolean compressed) throws IOException {
+        int separator = 0;
+        while(separator < data.length && data[separator] != 0){
+            separator++;
+        }
+        String keyword = new String(data, 0, separator, StandardCharsets.ISO_8859_1);
+        if(!KEYWORDS.contains(keyword)){
+            return null;
+        }
+
+        int textStart = separator + (compressed ? 2 : 1);
+        if(textStart > data.length){
+            throw new IOException("Invalid PNG text chunk");
+        }
+        InputStream text = new ByteArrayInputStream(data, textStart, data.length - textStart);
+        if(compressed){
+            text = new InflaterInputStream(text);
+        }
+        return decodeText(text);
+    }
+
+    /**
+     * Diagram text is usually URI encoded, plain XML is passed as it is.
+     */
+    private static InputStream decodeText(InputStream text) throws IOException {
+        PushbackInputStream pushback = new PushbackInputStream(text, 1);
+        int first = pushback.read();
+        if(first >= 0){
+            pushback.unread(first);
+        }
+        return first == '%' ? new PercentDecodingInputStream(pushback) : pushback;
+    }
+
+    private static void readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while(buffer.hasRemaining()){
+            if(channel.read(buffer) < 0){
+                throw new EOFException("Unexpected end of PNG image");
+            }
+        }
+    }
+
+    private static void skip(ReadableByteChannel channel, ByteBuffer buffer, long count) throws IOException {
+        long remaining = count;
+        while(remaining > 0){
+            buffer.clear().limit((int) Math.min(buffer.capacity(), remaining));
+            readFully(channel, buffer);
+            remaining -= buffer.position();
+        }
+    }
+
+    private static int chunkType(String name){
+        return ByteBuffer.wrap(name.getBytes(StandardCharsets.US_ASCII)).getInt();
+    }
+}
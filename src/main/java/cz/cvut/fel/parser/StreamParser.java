@@ -0,0 +1,42 @@
+package cz.cvut.fel.parser;
+
+import cz.cvut.fel.exception.CorruptedXmlException;
+import cz.cvut.fel.model.Diagram;
+
+import javax.xml.stream.XMLStreamReader;
+import java.util.List;
+
+/**
+ * Interface defining a Diagram parser working over a StAX event stream.
+ * It never needs the whole document tree in memory.
+ */
+public interface StreamParser {
+
+    /**
+     * Populates diagram with Vertices and links them with Edges.
+     * Reads the given stream from its current position to the end of the document.
+     *
+     * @param reader XML stream positioned before or at the diagram root element
+     * @return Populated and connected Diagram
+     * @throws CorruptedXmlException if the stream cannot be parsed
+     * @see Diagram
+     */
+    Diagram parse(XMLStreamReader reader) throws CorruptedXmlException;
+
+    /**
+     * Parses selected pages of a diagram file, each page into its own Diagram.
+     * Formats without pages treat the whole document as a single page with index 0 and an empty name.
+     *
+     * @param reader XML stream positioned before or at the diagram root element
+     * @param selector pages to be parsed
+     * @return selected pages in file order
+     * @throws CorruptedXmlException if the stream cannot be parsed
+     * @see DiagramPage
+     */
+    default List<DiagramPage> parsePages(XMLStreamReader reader, PageSelector selector) throws CorruptedXmlException {
+        if(!selector.test(0, "")){
+            return List.of();
+        }
+        return List.of(new DiagramPage(0, "", parse(reader)));
+    }
+}
@@ -0,0 +1,42 @@
+package cz.cvut.fel.parser;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.io.Reader;
+
+/**
+ * Creates StAX readers from one shared and configured XMLInputFactory.
+ * Creating the factory is costly, creating readers from a configured factory is thread safe.
+ */
+public final class StreamReaderFactory {
+    private static final XMLInputFactory inputFactory = createInputFactory();
+
+    private StreamReaderFactory(){
+    }
+
+    private static XMLInputFactory createInputFactory(){
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * @param input XML document stream
+     * @return reader positioned at the start of the document
+     * @throws XMLStreamException if the reader could not be created
+     */
+    public static XMLStreamReader createReader(InputStream input) throws XMLStreamException {
+        return inputFactory.createXMLStreamReader(input);
+    }
+
+    /**
+     * @param input XML document text
+     * @return reader positioned at the start of the document
+     * @throws XMLStreamException if the reader could not be created
+     */
+    public static XMLStreamReader createReader(Reader input) throws XMLStreamException {
+        return inputFactory.createXMLStreamReader(input);
+    }
+}
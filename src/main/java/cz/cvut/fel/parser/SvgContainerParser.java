@@ -0,0 +1,66 @@
+package cz.cvut.fel.parser;
+
+import cz.cvut.fel.exception.CorruptedXmlException;
+import cz.cvut.fel.model.Diagram;
+import lombok.extern.java.Log;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Objects;
+import java.util.logging.Level;
+
+/**
+ * Parser of diagrams embedded in SVG images exported by app.diagrams.net.
+ * The diagram file is stored in the content attribute of the svg root element,
+ * it is read from there and handed over to the parser of its own format.
+ * The image itself is never read.
+ *
+ * @see DiagramFormat
+ */
+@Log
+public class SvgContainerParser implements StreamParser {
+    /**
+     * Attribute of the svg root element holding the diagram file
+     */
+    static final String CONTENT_ATTRIBUTE = "content";
+
+    /**
+     * Parses the first page of the embedded diagram.
+     * @param reader XML stream of an SVG image
+     * @return Diagram of the first page, empty Diagram if the embedded file has no pages
+     * @throws CorruptedXmlException if the image holds no diagram or the diagram cannot be parsed
+     */
+    @Override
+    public Diagram parse(XMLStreamReader reader) throws CorruptedXmlException {
+        List<DiagramPage> pages = parsePages(reader, PageSelector.byIndex(0));
+        return pages.isEmpty() ? new Diagram() : pages.get(0).getDiagram();
+    }
+
+    @Override
+    public List<DiagramPage> parsePages(XMLStreamReader reader, PageSelector selector) throws CorruptedXmlException {
+        log.log(Level.FINE, "Extracting diagram from SVG image");
+        try{
+            DiagramFormat.sniff(reader);
+            String content = reader.getAttributeValue(null, CONTENT_ATTRIBUTE);
+            if(Objects.isNull(content) || content.isBlank()){
+                throw new CorruptedXmlException("SVG image does not contain a diagram");
+            }
+
+            XMLStreamReader contentReader = StreamReaderFactory.createReader(new StringReader(content));
+            try{
+                DiagramFormat format = DiagramFormat.sniff(contentReader)
+                        .filter(embedded -> embedded != DiagramFormat.DRAWIO_SVG)
+                        .orElseThrow(() -> new CorruptedXmlException("Unsupported diagram format embedded in SVG image"));
+                return format.createParser().parsePages(contentReader, selector);
+            }
+            finally{
+                contentReader.close();
+            }
+        }
+        catch(XMLStreamException e){
+            throw new CorruptedXmlException(e);
+        }
+    }
+}
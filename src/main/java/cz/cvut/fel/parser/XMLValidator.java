@@ -2,18 +2,13 @@ package cz.cvut.fel.parser;
 
 import lombok.extern.java.Log;
 import cz.cvut.fel.model.Diagram;
-import org.w3c.dom.Document;
 
-import org.w3c.dom.Node;
-import org.xml.sax.SAXException;
-import cz.cvut.fel.parser.Drawio.DrawioParser;
-import cz.cvut.fel.parser.Erdia.ErdiaParser;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.List;
 import java.util.logging.Level;
 
 /**
@@ -28,39 +23,60 @@ public class XMLValidator {
         log.log(Level.FINEST, "XMLValidator was successfully created");
     }
 
-
     /**
-     * Extracts diagram from validator file with an appropriate cz.cvut.fel.corrector.parser.
+     * Extracts diagram from validator file with an appropriate parser.
+     * Only the first page of multi-page files is parsed.
      * @return Diagram based on parsed information from XMLValidator file
-     * @throws SAXException if any parse errors occur during DOM document parsing
-     * @throws IOException if any IO errors occur during DOM document parsing or given XML format is not supported
-     * @throws ParserConfigurationException if document could not be parsed with given configuration
-     * @see DrawioParser
-     * @see ErdiaParser
+     * @throws XMLStreamException if the document start is not well-formed
+     * @throws IOException if any IO errors occur during reading or given XML format is not supported
+     * @see DiagramFormat
      */
-    public Diagram extractDiagram() throws SAXException, IOException, ParserConfigurationException {
-        log.log(Level.INFO, "Parsing diagram");
-        DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
-        DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
-        Document doc = dBuilder.parse(file);
-        doc.getDocumentElement().normalize();
-        Node root = doc.getFirstChild();
-        root.normalize();
-
-        Parser parser;
+    public Diagram extractDiagram() throws IOException, XMLStreamException {
+        return extractDiagram(PageSelector.byIndex(0));
+    }
 
-        //select parser
-        if(doc.getDocumentElement().hasAttribute("host") &&
-                doc.getDocumentElement().getAttribute("host").equals("app.diagrams.net")){
-            parser = new DrawioParser();
-        }
-        else if(doc.getDocumentElement().getTagName().equals("mxGraphModel")){
-            parser = new ErdiaParser();
-        }
-        else throw new IOException("Unsupported XML format");
+    /**
+     * Extracts diagram of a selected page from validator file.
+     * @param selector page to be extracted, first selected page is returned
+     * @return Diagram of the selected page
+     * @throws XMLStreamException if the document start is not well-formed
+     * @throws IOException if any IO errors occur during reading, given XML format is not supported
+     * or no page was selected
+     */
+    public Diagram extractDiagram(PageSelector selector) throws IOException, XMLStreamException {
+        return extractPages(selector).stream()
+                .findFirst()
+                .map(DiagramPage::getDiagram)
+                .orElseThrow(() -> new IOException("Diagram page not found"));
+    }
 
+    /**
+     * Extracts selected pages from validator file with an appropriate parser.
+     * Format is decided from the root element, the same stream is then read by the parser of that format,
+     * no document tree is built. Diagrams embedded in PNG and SVG images exported by app.diagrams.net are
+     * extracted first.
+     * @param selector pages to be extracted
+     * @return selected pages in file order
+     * @throws XMLStreamException if the document start is not well-formed
+     * @throws IOException if any IO errors occur during reading or given XML format is not supported
+     * @see DiagramFormat
+     */
+    public List<DiagramPage> extractPages(PageSelector selector) throws IOException, XMLStreamException {
+        log.log(Level.FINE, "Parsing diagram");
+        try(InputStream input = new BufferedInputStream(file)){
+            InputStream xml = PngTextScanner.isPng(input) ? PngTextScanner.extractDiagram(input) : input;
+            XMLStreamReader reader = StreamReaderFactory.createReader(xml);
+            try{
+                //select parser
+                DiagramFormat format = DiagramFormat.sniff(reader)
+                        .orElseThrow(() -> new IOException("Unsupported XML format"));
+                log.log(Level.FINE, "Recognised diagram format {0}", format);
 
-        file.close();
-        return parser.parse(doc);
+                return format.createParser().parsePages(reader, selector);
+            }
+            finally{
+                reader.close();
+            }
+        }
     }
 }
@@ -0,0 +1,437 @@
+package cz.cvut.fel.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import cz.cvut.fel.ErCorrector;
+import cz.cvut.fel.exception.ConfigurationException;
+import cz.cvut.fel.exception.CorruptedXmlException;
+import cz.cvut.fel.exception.ParserException;
+import cz.cvut.fel.grading.GradingResult;
+import cz.cvut.fel.grading.configuration.GradingPlan;
+import cz.cvut.fel.output.JsonOutputFormatter;
+import cz.cvut.fel.parser.PageSelector;
+import lombok.extern.java.Log;
+import org.apache.commons.cli.*;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.logging.Level;
+
+/**
+ * GradingServer is a long-running local HTTP service grading uploaded diagrams.
+ * Configurations are compiled once on startup and shared by all requests,
+ * the JIT is warmed up by grading the bundled test diagrams before the first request is accepted.
+ * Requests are dispatched on an unbounded pool, a fixed number of them is graded at once
+ * and a bounded number waits for its turn. Grading requests arriving while the server is saturated
+ * are answered 503 with a Retry-After header.
+ * <p>
+ * Endpoints:
+ * <ul>
+ *     <li>POST /grade?config=name[&amp;page=[name:]name|[index:]index][&amp;all-pages] with the diagram file as the body,
+ *     or a multipart form with a "diagram" part and an optional "config" part holding an inline configuration</li>
+ *     <li>GET /configs lists names of preloaded configurations</li>
+ *     <li>GET /health reports the number of requests graded and waiting</li>
+ * </ul>
+ *
+ * @author Adam Skarda
+ * @see ErCorrector
+ */
+@Log
+public class GradingServer {
+    private static final int maxBodyBytes = 16 * 1024 * 1024;
+    private static final String bundledConfig = "config/example_config.txt";
+    private static final String bundledConfigName = "example";
+    private static final String warmUpIndex = "test_data_ER/index.txt";
+    private static final String warmUpDirectory = "test_data_ER/";
+    private static final String jsonContentType = "application/json; charset=utf-8";
+
+    /**
+     * Seconds a client answered 503 is asked to wait before retrying
+     */
+    private static final String retryAfterSeconds = "1";
+
+    private final HttpServer server;
+    private final ExecutorService workers;
+    private final int threads;
+    private final int capacity;
+
+    /**
+     * Permits of requests graded at once
+     */
+    private final Semaphore grading;
+
+    /**
+     * Permits of requests graded or waiting for grading, requests without a permit are answered 503
+     */
+    private final Semaphore admitted;
+
+    /**
+     * Preloaded plans by their name in the order they were given
+     */
+    private final Map<String, GradingPlan> plans;
+
+    /**
+     * Basic constructor, the server is not started
+     * @param address address to bind to
+     * @param plans preloaded compiled configurations by name, the first one is used by default
+     * @param threads number of requests graded at once
+     * @param queueCapacity number of requests waiting to be graded, further requests are answered 503
+     * @throws IOException when the address cannot be bound
+     */
+    public GradingServer(InetSocketAddress address, Map<String, GradingPlan> plans, int threads, int queueCapacity)
+            throws IOException{
+        if(plans.isEmpty()){
+            throw new IllegalArgumentException("At least one configuration has to be preloaded");
+        }
+        if(threads < 1){
+            throw new IllegalArgumentException(String.format("Number of threads %d has to be positive", threads));
+        }
+        this.plans = Collections.unmodifiableMap(new LinkedHashMap<>(plans));
+        this.threads = threads;
+        this.capacity = threads + Math.max(queueCapacity, 0);
+        this.grading = new Semaphore(threads, true);
+        this.admitted = new Semaphore(capacity);
+        this.workers = Executors.newCachedThreadPool();
+        this.server = HttpServer.create(address, 0);
+        server.setExecutor(workers);
+        server.createContext("/grade", this::handleGrade);
+        server.createContext("/configs", this::handleConfigs);
+        server.createContext("/health", this::handleHealth);
+    }
+
+    /**
+     * Starts accepting requests
+     */
+    public void start(){
+        server.start();
+        log.log(Level.INFO, String.format("Grading server listening on %s", server.getAddress()));
+    }
+
+    /**
+     * Stops accepting requests, waits at most a second for requests in progress
+     */
+    public void stop(){
+        server.stop(1);
+        workers.shutdown();
+    }
+
+    /**
+     * Grades every bundled test diagram with every preloaded configuration,
+     * so the grading code is compiled before the first request arrives.
+     * Runs in the calling thread, failures are logged and ignored.
+     * @param rounds number of times the bundled diagrams are graded
+     * @return number of gradings done
+     */
+    public int warmUp(int rounds){
+        List<String> diagrams = warmUpDiagrams();
+        long start = System.nanoTime();
+        int graded = 0;
+        for(int round = 0; round < rounds; round++){
+            for(GradingPlan plan : plans.values()){
+                for(String diagram : diagrams){
+                    try(InputStream input = resource(warmUpDirectory + diagram)){
+                        if(Objects.isNull(input)){
+                            continue;
+                        }
+                        ErCorrector.grade(input, plan, PageSelector.all(), null);
+                        graded++;
+                    }
+                    catch(IOException | XMLStreamException | RuntimeException ex){
+                        log.log(Level.FINE, String.format("Warm-up grading of %s failed", diagram), ex);
+                    }
+                }
+            }
+        }
+        log.log(Level.INFO, String.format("Warmed up with %d gradings in %d ms", graded,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        return graded;
+    }
+
+    /**
+     * @return paths of bundled test diagrams relative to the test data directory
+     */
+    private static List<String> warmUpDiagrams(){
+        List<String> diagrams = new ArrayList<>();
+        try(InputStream index = resource(warmUpIndex)){
+            if(Objects.isNull(index)){
+                log.log(Level.WARNING, "Bundled test diagrams not found, skipping warm-up");
+                return diagrams;
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(index, StandardCharsets.UTF_8));
+            String line;
+            while((line = reader.readLine()) != null){
+                line = line.strip();
+                if(!line.isEmpty() && !line.startsWith("#")){
+                    diagrams.add(line);
+                }
+            }
+        }
+        catch(IOException ex){
+            log.log(Level.WARNING, "Error reading bundled test diagrams", ex);
+        }
+        return diagrams;
+    }
+
+    private static InputStream resource(String name){
+        return GradingServer.class.getClassLoader().getResourceAsStream(name);
+    }
+
+    /**
+     * Grades the request once a grading permit is free, answers 503 if too many requests are waiting
+     */
+    private void handleGrade(HttpExchange exchange) throws IOException{
+        if(!admitted.tryAcquire()){
+            try{
+                log.log(Level.WARNING, "Grading server saturated, answering 503");
+                discardBody(exchange);
+                exchange.getResponseHeaders().set("Retry-After", retryAfterSeconds);
+                respond(exchange, 503, JsonOutputFormatter.stringifyError("Grading server busy, retry later"));
+            }
+            finally{
+                exchange.close();
+            }
+            return;
+        }
+        try{
+            grading.acquire();
+            try{
+                grade(exchange);
+            }
+            finally{
+                grading.release();
+            }
+        }
+        catch(InterruptedException ex){
+            Thread.currentThread().interrupt();
+            exchange.close();
+        }
+        finally{
+            admitted.release();
+        }
+    }
+
+    private void grade(HttpExchange exchange) throws IOException{
+        long start = System.nanoTime();
+        try{
+            if(!exchange.getRequestMethod().equals("POST")){
+                exchange.getResponseHeaders().add("Allow", "POST");
+                respond(exchange, 405, JsonOutputFormatter.stringifyError("Diagram has to be sent by POST"));
+                return;
+            }
+
+            byte[] body = readBody(exchange);
+            if(Objects.isNull(body)){
+                respond(exchange, 413, JsonOutputFormatter.stringifyError(
+                        String.format("Diagram larger than %d bytes", maxBodyBytes)));
+                return;
+            }
+
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            PageSelector selector = PageSelector.byIndex(0);
+            if(query.containsKey("all-pages")){
+                selector = PageSelector.all();
+            }
+            else if(query.containsKey("page")){
+                selector = PageSelector.parse(query.get("page"));
+            }
+
+            GradingPlan plan;
+            byte[] diagram = body;
+            String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+            if(MultipartForm.isMultipart(contentType)){
+                MultipartForm form = MultipartForm.parse(body, contentType);
+                diagram = form.get("diagram");
+                if(Objects.isNull(diagram)){
+                    respond(exchange, 400, JsonOutputFormatter.stringifyError("Multipart part \"diagram\" missing"));
+                    return;
+                }
+                byte[] inlineConfig = form.get("config");
+                plan = Objects.isNull(inlineConfig) ? findPlan(query) : compileInline(inlineConfig);
+            }
+            else{
+                plan = findPlan(query);
+            }
+            if(Objects.isNull(plan)){
+                respond(exchange, 404, JsonOutputFormatter.stringifyError(
+                        String.format("Configuration %s not found", query.get("config"))));
+                return;
+            }
+
+            List<GradingResult> results = ErCorrector.grade(new ByteArrayInputStream(diagram), plan, selector, null);
+            if(results.isEmpty()){
+                respond(exchange, 404, JsonOutputFormatter.stringifyError("Diagram page not found"));
+                return;
+            }
+            respond(exchange, 200, JsonOutputFormatter.stringifyResults(results, System.nanoTime() - start));
+        }
+        catch(IOException | XMLStreamException | CorruptedXmlException | ParserException | ConfigurationException
+              | IllegalArgumentException ex){
+            log.log(Level.FINE, "Rejected grading request", ex);
+            respond(exchange, 400, JsonOutputFormatter.stringifyError(ex.getMessage()));
+        }
+        catch(RuntimeException ex){
+            log.log(Level.WARNING, "Error grading request", ex);
+            respond(exchange, 500, JsonOutputFormatter.stringifyError("Internal error grading diagram"));
+        }
+        finally{
+            exchange.close();
+        }
+    }
+
+    private void handleConfigs(HttpExchange exchange) throws IOException{
+        try{
+            respond(exchange, 200, JsonOutputFormatter.stringifyStrings(new ArrayList<>(plans.keySet())));
+        }
+        finally{
+            exchange.close();
+        }
+    }
+
+    private void handleHealth(HttpExchange exchange) throws IOException{
+        try{
+            int active = threads - grading.availablePermits();
+            int waiting = capacity - admitted.availablePermits() - active;
+            respond(exchange, 200, String.format("{\"status\":\"UP\",\"active\":%d,\"queued\":%d}",
+                    active, Math.max(waiting, 0)));
+        }
+        finally{
+            exchange.close();
+        }
+    }
+
+    /**
+     * @return preloaded plan named by the config parameter, the first plan if there is none
+     */
+    private GradingPlan findPlan(Map<String, String> query){
+        String name = query.get("config");
+        return Objects.isNull(name) ? plans.values().iterator().next() : plans.get(name);
+    }
+
+    private static GradingPlan compileInline(byte[] configuration) throws IOException{
+        Properties properties = new Properties();
+        properties.load(new InputStreamReader(new ByteArrayInputStream(configuration), StandardCharsets.UTF_8));
+        return ErCorrector.compilePlan(properties);
+    }
+
+    /**
+     * @return request body, null if it is larger than the limit
+     */
+    private static byte[] readBody(HttpExchange exchange) throws IOException{
+        try(InputStream input = exchange.getRequestBody()){
+            byte[] body = input.readNBytes(maxBodyBytes + 1);
+            return body.length > maxBodyBytes ? null : body;
+        }
+    }
+
+    /**
+     * Reads the request body up to the size limit without keeping it,
+     * so the client is not reset while it is still sending
+     */
+    private static void discardBody(HttpExchange exchange) throws IOException{
+        try(InputStream input = exchange.getRequestBody()){
+            long remaining = maxBodyBytes + 1L;
+            byte[] buffer = new byte[8192];
+            int read;
+            while(remaining > 0 && (read = input.read(buffer, 0, (int) Math.min(buffer.length, remaining))) >= 0){
+                remaining -= read;
+            }
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery){
+        Map<String, String> query = new HashMap<>();
+        if(Objects.isNull(rawQuery)){
+            return query;
+        }
+        for(String parameter : rawQuery.split("&")){
+            if(parameter.isEmpty()){
+                continue;
+            }
+            String[] pair = parameter.split("=", 2);
+            query.put(URLDecoder.decode(pair[0], StandardCharsets.UTF_8),
+                    pair.length == 2 ? URLDecoder.decode(pair[1], StandardCharsets.UTF_8) : "");
+        }
+        return query;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException{
+        byte[] response = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", jsonContentType);
+        exchange.sendResponseHeaders(status, response.length);
+        try(OutputStream output = exchange.getResponseBody()){
+            output.write(response);
+        }
+    }
+
+    /**
+     * Starts the server from the command line and keeps it running until the JVM is stopped
+     * @param args command line arguments following "serve"
+     */
+    public static void main(String[] args){
+        Options options = new Options();
+        Option port = new Option(null, "port", true, "port to listen on, 8080 by default");
+        options.addOption(port);
+        Option bind = new Option(null, "bind", true, "address to listen on, 127.0.0.1 by default");
+        options.addOption(bind);
+        Option config = new Option("c", "configuration", true,
+                "preloaded configuration as name=path, may be repeated, the bundled example configuration by default");
+        options.addOption(config);
+        Option threads = new Option("t", "threads", true, "number of requests graded at once, number of processors by default");
+        options.addOption(threads);
+        Option queue = new Option(null, "queue", true,
+                "number of requests waiting to be graded, further requests are answered 503, 64 by default");
+        options.addOption(queue);
+        Option warmUpRounds = new Option(null, "warmup-rounds", true,
+                "times the bundled test diagrams are graded on startup, 20 by default");
+        options.addOption(warmUpRounds);
+
+        try{
+            CommandLine cmd = new DefaultParser().parse(options, args);
+
+            Map<String, GradingPlan> plans = new LinkedHashMap<>();
+            if(cmd.hasOption(config)){
+                for(String value : cmd.getOptionValues(config)){
+                    String[] pair = value.split("=", 2);
+                    if(pair.length != 2 || pair[0].isEmpty()){
+                        throw new IllegalArgumentException(String.format("Configuration %s is not in name=path form", value));
+                    }
+                    plans.put(pair[0], ErCorrector.loadPlan(Path.of(pair[1])));
+                }
+            }
+            else{
+                plans.put(bundledConfigName, loadBundledPlan());
+            }
+
+            int threadCount = cmd.hasOption(threads) ? Integer.parseInt(cmd.getOptionValue(threads))
+                    : Runtime.getRuntime().availableProcessors();
+            GradingServer gradingServer = new GradingServer(
+                    new InetSocketAddress(cmd.getOptionValue(bind, "127.0.0.1"), Integer.parseInt(cmd.getOptionValue(port, "8080"))),
+                    plans, threadCount, Integer.parseInt(cmd.getOptionValue(queue, "64")));
+            gradingServer.warmUp(Integer.parseInt(cmd.getOptionValue(warmUpRounds, "20")));
+            Runtime.getRuntime().addShutdownHook(new Thread(gradingServer::stop));
+            gradingServer.start();
+        }
+        catch(ParseException | IOException | ConfigurationException | IllegalArgumentException ex){
+            log.log(Level.SEVERE, "Failed to start", ex);
+            new HelpFormatter().printHelp("ErCorrector serve", options);
+            System.exit(1);
+        }
+    }
+
+    private static GradingPlan loadBundledPlan() throws IOException{
+        try(InputStream input = resource(bundledConfig)){
+            if(Objects.isNull(input)){
+                throw new IOException(String.format("Bundled configuration %s not found", bundledConfig));
+            }
+            Properties properties = new Properties();
+            properties.load(input);
+            return ErCorrector.compilePlan(properties);
+        }
+    }
+}
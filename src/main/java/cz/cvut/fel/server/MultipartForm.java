@@ -0,0 +1,118 @@
+package cz.cvut.fel.server;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Minimal multipart/form-data reader, parts are kept in memory and keyed by their field name.
+ * Only the Content-Disposition header of a part is read, nested multiparts are not supported.
+ *
+ * @author Adam Skarda
+ */
+final class MultipartForm {
+    private static final String boundaryParameter = "boundary=";
+
+    private final Map<String, byte[]> parts = new HashMap<>();
+
+    private MultipartForm(){
+    }
+
+    /**
+     * @param contentType Content-Type header of a request
+     * @return true if the request body is a multipart form
+     */
+    static boolean isMultipart(String contentType){
+        return Objects.nonNull(contentType)
+                && contentType.toLowerCase(Locale.ROOT).startsWith("multipart/form-data");
+    }
+
+    /**
+     * Splits a multipart body into parts
+     * @param body request body
+     * @param contentType Content-Type header with the boundary parameter
+     * @return form with all named parts
+     * @throws IllegalArgumentException when the body is not a valid multipart form
+     */
+    static MultipartForm parse(byte[] body, String contentType){
+        int boundaryStart = contentType.indexOf(boundaryParameter);
+        if(boundaryStart < 0){
+            throw new IllegalArgumentException("Multipart boundary missing");
+        }
+        String boundary = contentType.substring(boundaryStart + boundaryParameter.length()).split(";")[0].strip();
+        if(boundary.length() > 1 && boundary.startsWith("\"") && boundary.endsWith("\"")){
+            boundary = boundary.substring(1, boundary.length() - 1);
+        }
+        byte[] delimiter = ("--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        byte[] headerEnd = "\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1);
+
+        MultipartForm form = new MultipartForm();
+        int position = indexOf(body, delimiter, 0);
+        if(position < 0){
+            throw new IllegalArgumentException("Multipart boundary not found in body");
+        }
+        while(true){
+            position += delimiter.length;
+            //closing delimiter
+            if(position + 1 < body.length && body[position] == '-' && body[position + 1] == '-'){
+                return form;
+            }
+            int headersStart = position + 2;
+            int contentStart = indexOf(body, headerEnd, headersStart);
+            if(contentStart < 0){
+                throw new IllegalArgumentException("Multipart part headers not terminated");
+            }
+            int next = indexOf(body, delimiter, contentStart);
+            if(next < 0){
+                throw new IllegalArgumentException("Multipart body not terminated");
+            }
+            String headers = new String(body, headersStart, contentStart - headersStart, StandardCharsets.UTF_8);
+            String name = fieldName(headers);
+            //content is followed by CRLF before the next delimiter
+            int contentEnd = Math.max(contentStart + headerEnd.length, next - 2);
+            if(Objects.nonNull(name)){
+                form.parts.put(name, Arrays.copyOfRange(body, contentStart + headerEnd.length, contentEnd));
+            }
+            position = next;
+        }
+    }
+
+    /**
+     * @param name field name
+     * @return content of the part, null if there is no such part
+     */
+    byte[] get(String name){
+        return parts.get(name);
+    }
+
+    private static String fieldName(String headers){
+        for(String header : headers.split("\r\n")){
+            if(!header.toLowerCase(Locale.ROOT).startsWith("content-disposition:")){
+                continue;
+            }
+            for(String parameter : header.split(";")){
+                String[] pair = parameter.strip().split("=", 2);
+                if(pair.length == 2 && pair[0].equalsIgnoreCase("name")){
+                    return pair[1].replace("\"", "");
+                }
+            }
+        }
+        return null;
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern, int from){
+        outer:
+        for(int i = from; i <= data.length - pattern.length; i++){
+            for(int j = 0; j < pattern.length; j++){
+                if(data[i + j] != pattern[j]){
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,52 @@
+package cz.cvut.fel.benchmark;
+
+import cz.cvut.fel.ErCorrector;
+import cz.cvut.fel.grading.configuration.GradingPlan;
+import cz.cvut.fel.model.Diagram;
+import cz.cvut.fel.parser.XMLValidator;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Bundled diagrams and configuration used by benchmarks
+ */
+final class BenchmarkData {
+    private static final String configuration = "config/example_config.txt";
+    private static final String diagrams = "test_data_ER/";
+
+    private BenchmarkData(){
+    }
+
+    /**
+     * @param diagram path of a bundled diagram relative to the test data directory
+     * @return first page of the diagram
+     */
+    static Diagram diagram(String diagram) throws IOException, XMLStreamException{
+        try(InputStream input = resource(diagrams + diagram)){
+            return new XMLValidator(input).extractDiagram();
+        }
+    }
+
+    /**
+     * @return compiled bundled example configuration
+     */
+    static GradingPlan plan() throws IOException{
+        try(InputStream input = resource(configuration)){
+            Properties properties = new Properties();
+            properties.load(input);
+            return ErCorrector.compilePlan(properties);
+        }
+    }
+
+    private static InputStream resource(String name) throws IOException{
+        InputStream input = BenchmarkData.class.getClassLoader().getResourceAsStream(name);
+        if(Objects.isNull(input)){
+            throw new IOException(String.format("Bundled resource %s not found", name));
+        }
+        return input;
+    }
+}
@@ -0,0 +1,68 @@
+package cz.cvut.fel.benchmark;
+
+import cz.cvut.fel.model.*;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Diagram with the getters it had before it kept typed lists and read-only views.
+ * Every getter copies its list into a new LinkedList or filters all vertices again,
+ * so the checker phase can be measured on both kinds of getters.
+ *
+ * @see DiagramBenchmark
+ */
+class CopyingDiagram extends Diagram {
+
+    /**
+     * @param diagram diagram to be copied, its components are shared
+     * @return diagram with the same components
+     */
+    static CopyingDiagram of(Diagram diagram){
+        CopyingDiagram copy = new CopyingDiagram();
+        diagram.getVertices().forEach(copy::addVertex);
+        diagram.getEdges().forEach(copy::addEdge);
+        diagram.getComposites().forEach(copy::addComposite);
+        return copy;
+    }
+
+    @Override
+    public List<Entity> getEntities(){
+        return super.getVertices().stream()
+                .filter(Vertex::isEntity)
+                .map(vertex -> (Entity) vertex)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Attribute> getAttributes(){
+        return super.getVertices().stream()
+                .filter(Vertex::isAttribute)
+                .map(vertex -> (Attribute) vertex)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Relationship> getRelationships(){
+        return super.getVertices().stream()
+                .filter(Vertex::isRelationship)
+                .map(vertex -> (Relationship) vertex)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Vertex> getVertices(){
+        return new LinkedList<>(super.getVertices());
+    }
+
+    @Override
+    public List<Edge> getEdges(){
+        return new LinkedList<>(super.getEdges());
+    }
+
+    @Override
+    public List<Composite> getComposites(){
+        return new LinkedList<>(super.getComposites());
+    }
+}
@@ -0,0 +1,60 @@
+package cz.cvut.fel.benchmark;
+
+import cz.cvut.fel.grading.AssignmentGrader;
+import cz.cvut.fel.grading.configuration.GradingPlan;
+import cz.cvut.fel.model.Diagram;
+import org.openjdk.jmh.annotations.*;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checker phase of grading a parsed diagram with the bundled example configuration,
+ * on Diagram getters returning read-only views and on the former copying getters.
+ * The diagram is frozen again before every grade, as it is for every newly parsed diagram.
+ * <p>
+ * Run with the allocation profiler after "mvn test-compile":
+ * <pre>
+ * mvn dependency:build-classpath -Dmdep.outputFile=target/benchmark.classpath -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/benchmark.classpath) org.openjdk.jmh.Main DiagramBenchmark -prof gc
+ * </pre>
+ *
+ * @see CopyingDiagram
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiagramBenchmark {
+
+    @Param({"erdia/very_complicated.xml", "erdia/shop_correct_erdia.xml"})
+    private String file;
+
+    /**
+     * views for the current Diagram, copies for the former copying getters
+     */
+    @Param({"views", "copies"})
+    private String getters;
+
+    private Diagram diagram;
+    private GradingPlan plan;
+
+    @Setup
+    public void setUp() throws IOException, XMLStreamException{
+        Diagram parsed = BenchmarkData.diagram(file);
+        diagram = getters.equals("copies") ? CopyingDiagram.of(parsed) : parsed;
+        plan = BenchmarkData.plan();
+    }
+
+    @Benchmark
+    public float grade(){
+        //drops the snapshot, edges are already organized
+        diagram.organizeEdges();
+        AssignmentGrader grader = new AssignmentGrader(plan, diagram, null);
+        grader.grade();
+        return grader.getPoints();
+    }
+}
@@ -0,0 +1,131 @@
+package cz.cvut.fel.benchmark;
+
+import cz.cvut.fel.model.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts used by quantity checks of one grade, gathered by DiagramStatistics
+ * and by a separate pass of every check as the checks did before.
+ * The diagram is frozen again before every operation, so both include building the snapshot
+ * together with the entity identification and hierarchy index the counts depend on.
+ * <p>
+ * Run as DiagramBenchmark, with DiagramStatisticsBenchmark as the benchmark name.
+ *
+ * @see DiagramStatistics
+ * @see DiagramBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiagramStatisticsBenchmark {
+
+    /**
+     * Minimal number of entities of an n-ary relationship in the example configuration
+     */
+    private static final int NARY_ENTITIES = 3;
+
+    @Param({"erdia/very_complicated.xml", "erdia/shop_correct_erdia.xml"})
+    private String file;
+
+    private Diagram diagram;
+
+    @Setup
+    public void setUp() throws IOException, XMLStreamException{
+        diagram = BenchmarkData.diagram(file);
+    }
+
+    @Benchmark
+    public void statistics(Blackhole counts){
+        //drops the snapshot, edges are already organized
+        diagram.organizeEdges();
+        DiagramStatistics statistics = diagram.freeze().getStatistics();
+        counts.consume(statistics.getMultivaluedAttributeCount());
+        counts.consume(statistics.getEntityCount());
+        counts.consume(statistics.getRelationshipCount());
+        counts.consume(statistics.getRecursiveRelationshipCount());
+        counts.consume(statistics.getStructuredAttributeCount());
+        counts.consume(statistics.getAttributeCount());
+        counts.consume(statistics.getWeakEntityCount());
+        counts.consume(statistics.getNaryRelationshipCount(NARY_ENTITIES));
+        counts.consume(statistics.getMultipleIdentifierCount());
+        counts.consume(statistics.getCompositeCount());
+        counts.consume(statistics.getHierarchyCount());
+    }
+
+    @Benchmark
+    public void separateCounts(Blackhole counts){
+        diagram.organizeEdges();
+        DiagramSnapshot snapshot = diagram.freeze();
+
+        long multivalued = 0;
+        for(int edge = 0; edge < snapshot.getEdgeCount(); edge++){
+            if(snapshot.isAttributeConnection(edge) && snapshot.hasCardinality(edge)){
+                multivalued++;
+            }
+        }
+        counts.consume(multivalued);
+
+        counts.consume(diagram.getEntities().size());
+        counts.consume(diagram.getRelationships().size());
+
+        long recursive = 0;
+        for(int vertex = 0; vertex < snapshot.getVertexCount(); vertex++){
+            if(snapshot.isRelationship(vertex) && snapshot.isRecursive(vertex)){
+                recursive++;
+            }
+        }
+        counts.consume(recursive);
+
+        long structured = 0;
+        for(int vertex = 0; vertex < snapshot.getVertexCount(); vertex++){
+            if(snapshot.isAttribute(vertex)
+                    && (snapshot.hasAdjacent(vertex, DiagramSnapshot.ENTITY)
+                        || snapshot.hasAdjacent(vertex, DiagramSnapshot.RELATIONSHIP))
+                    && snapshot.hasAdjacent(vertex, DiagramSnapshot.ATTRIBUTE)){
+                structured++;
+            }
+        }
+        counts.consume(structured);
+
+        counts.consume(diagram.getAttributes().size());
+
+        EntityIdentification identification = snapshot.getIdentification();
+        long weak = 0;
+        for(int vertex = 0; vertex < snapshot.getVertexCount(); vertex++){
+            if(snapshot.isEntity(vertex) && identification.isWeak(vertex)){
+                weak++;
+            }
+        }
+        counts.consume(weak);
+
+        long nary = 0;
+        for(int vertex = 0; vertex < snapshot.getVertexCount(); vertex++){
+            if(snapshot.isRelationship(vertex)
+                    && NARY_ENTITIES <= snapshot.countDistinctAdjacent(vertex, DiagramSnapshot.ENTITY)){
+                nary++;
+            }
+        }
+        counts.consume(nary);
+
+        counts.consume(diagram.getEntities().stream()
+                .filter(entity -> entity.getKeys().size() > 1)
+                .count());
+
+        counts.consume(diagram.getComposites().size()
+                + diagram.getAttributes().stream()
+                        .filter(Attribute::isStructured)
+                        .filter(Attribute::getIsKey)
+                        .filter(Attribute::isSimple)
+                        .count());
+
+        counts.consume(snapshot.getHierarchies().getHierarchyCount());
+    }
+}
@@ -0,0 +1,54 @@
+package cz.cvut.fel.benchmark;
+
+import cz.cvut.fel.model.Diagram;
+import cz.cvut.fel.parser.XMLValidator;
+import org.openjdk.jmh.annotations.*;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse time of synthetic diagrams of growing size.
+ * The score has to grow linearly with the number of cells,
+ * a parser resolving edge ends by scanning the diagram takes sixteen times as long for four times the cells.
+ * <p>
+ * Run as DiagramBenchmark, with ParserBenchmark as the benchmark name.
+ *
+ * @see SyntheticDiagrams
+ * @see DiagramBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+    @Param({"erdia", "drawio"})
+    private String format;
+
+    @Param({"12000", "24000", "48000"})
+    private int cells;
+
+    private byte[] diagram;
+
+    @Setup
+    public void setUp() throws IOException, XMLStreamException{
+        boolean erdia = format.equals("erdia");
+        int units = cells / (erdia ? SyntheticDiagrams.ERDIA_UNIT_CELLS : SyntheticDiagrams.DRAWIO_UNIT_CELLS);
+        diagram = erdia ? SyntheticDiagrams.erdia(units) : SyntheticDiagrams.drawio(units);
+
+        Diagram parsed = parse();
+        if(parsed.getEntities().size() != units || parsed.getEdges().size() != 3 * units){
+            throw new IllegalStateException(String.format("Synthetic %s diagram of %d units parsed incorrectly", format, units));
+        }
+    }
+
+    @Benchmark
+    public Diagram parse() throws IOException, XMLStreamException{
+        return new XMLValidator(new ByteArrayInputStream(diagram)).extractDiagram();
+    }
+}
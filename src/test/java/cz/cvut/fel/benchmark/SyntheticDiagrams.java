@@ -0,0 +1,74 @@
+package cz.cvut.fel.benchmark;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Synthetic diagrams of any size used by benchmarks.
+ * Diagrams are chains of units, every unit is an entity with a key attribute
+ * and a relationship to the entity of the next unit, the last unit closes the chain.
+ */
+final class SyntheticDiagrams {
+    static final int ERDIA_UNIT_CELLS = 6;
+    static final int DRAWIO_UNIT_CELLS = 8;
+
+    private SyntheticDiagrams(){
+    }
+
+    /**
+     * @param units number of units, each has six cells: entity, attribute, attribute connector,
+     *              relationship and two relationship connectors
+     * @return Erdia XML export of the chain
+     */
+    static byte[] erdia(int units){
+        StringBuilder xml = new StringBuilder("<mxGraphModel><root><mxCell id=\"0\"/><mxCell id=\"1\" parent=\"0\"/>");
+        for(int i = 0; i < units; i++){
+            int next = (i + 1) % units;
+            xml.append(String.format("<mxCell id=\"e%d\" style=\"entity\" vertex=\"1\" connectable=\"0\" parent=\"1\">"
+                    + "<ErEntity name=\"Entity%d\" as=\"value\"/><mxGeometry x=\"0\" y=\"0\" width=\"100\" height=\"40\" as=\"geometry\"/></mxCell>", i, i));
+            xml.append(String.format("<mxCell id=\"a%d\" style=\"attribute;attributeIdentifier\" vertex=\"1\" connectable=\"0\" parent=\"1\">"
+                    + "<ErAttribute name=\"id%d\" simpleIdentifier=\"1\" as=\"value\"/><mxGeometry x=\"0\" y=\"0\" width=\"13\" height=\"13\" as=\"geometry\"/></mxCell>", i, i));
+            xml.append(String.format("<mxCell id=\"c%d\" style=\"attributeConnector\" edge=\"1\" parent=\"1\" source=\"a%d\" target=\"e%d\">"
+                    + "<ErAttributeConnector as=\"value\"/><mxGeometry relative=\"1\" as=\"geometry\"/></mxCell>", i, i, i));
+            xml.append(String.format("<mxCell id=\"r%d\" style=\"relationship\" vertex=\"1\" parent=\"1\">"
+                    + "<ErRelationship name=\"rel%d\" as=\"value\"/><mxGeometry x=\"0\" y=\"0\" width=\"100\" height=\"50\" as=\"geometry\"/></mxCell>", i, i));
+            xml.append(String.format("<mxCell id=\"s%d\" style=\"relationshipConnector\" edge=\"1\" parent=\"1\" source=\"r%d\" target=\"e%d\">"
+                    + "<ErRelationshipConnector cardinalityMin=\"1\" cardinalityMax=\"1\" as=\"value\"/><mxGeometry relative=\"1\" as=\"geometry\"/></mxCell>", i, i, i));
+            xml.append(String.format("<mxCell id=\"t%d\" style=\"relationshipConnector\" edge=\"1\" parent=\"1\" source=\"r%d\" target=\"e%d\">"
+                    + "<ErRelationshipConnector cardinalityMin=\"0\" cardinalityMax=\"N\" as=\"value\"/><mxGeometry relative=\"1\" as=\"geometry\"/></mxCell>", i, i, next));
+        }
+        xml.append("</root></mxGraphModel>");
+        return xml.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param units number of units, each has the six Erdia unit cells and two cardinality labels
+     * @return uncompressed single page drawio file of the chain
+     */
+    static byte[] drawio(int units){
+        String edgeStyle = "endArrow=none;html=1;rounded=0;";
+        String labelStyle = "edgeLabel;html=1;align=center;verticalAlign=middle;resizable=0;points=[];";
+        StringBuilder xml = new StringBuilder("<mxfile><diagram id=\"synthetic\" name=\"Page-1\"><mxGraphModel><root>"
+                + "<mxCell id=\"0\"/><mxCell id=\"1\" parent=\"0\"/>");
+        for(int i = 0; i < units; i++){
+            int next = (i + 1) % units;
+            xml.append(String.format("<mxCell id=\"e%d\" value=\"Entity%d\" style=\"whiteSpace=wrap;html=1;align=center;\" vertex=\"1\" parent=\"1\">"
+                    + "<mxGeometry x=\"0\" y=\"0\" width=\"100\" height=\"40\" as=\"geometry\"/></mxCell>", i, i));
+            xml.append(String.format("<mxCell id=\"a%d\" value=\"id%d\" style=\"ellipse;whiteSpace=wrap;html=1;align=center;fontStyle=4;\" vertex=\"1\" parent=\"1\">"
+                    + "<mxGeometry x=\"0\" y=\"0\" width=\"100\" height=\"40\" as=\"geometry\"/></mxCell>", i, i));
+            xml.append(String.format("<mxCell id=\"c%d\" value=\"\" style=\"%s\" edge=\"1\" parent=\"1\" source=\"e%d\" target=\"a%d\">"
+                    + "<mxGeometry relative=\"1\" as=\"geometry\"/></mxCell>", i, edgeStyle, i, i));
+            xml.append(String.format("<mxCell id=\"r%d\" value=\"rel%d\" style=\"shape=rhombus;perimeter=rhombusPerimeter;whiteSpace=wrap;html=1;align=center;\" vertex=\"1\" parent=\"1\">"
+                    + "<mxGeometry x=\"0\" y=\"0\" width=\"120\" height=\"60\" as=\"geometry\"/></mxCell>", i, i));
+            xml.append(String.format("<mxCell id=\"s%d\" value=\"\" style=\"%s\" edge=\"1\" parent=\"1\" source=\"r%d\" target=\"e%d\">"
+                    + "<mxGeometry relative=\"1\" as=\"geometry\"/></mxCell>", i, edgeStyle, i, i));
+            xml.append(String.format("<mxCell id=\"sl%d\" value=\"1..1\" style=\"%s\" vertex=\"1\" connectable=\"0\" parent=\"s%d\">"
+                    + "<mxGeometry relative=\"1\" as=\"geometry\"/></mxCell>", i, labelStyle, i));
+            xml.append(String.format("<mxCell id=\"t%d\" value=\"\" style=\"%s\" edge=\"1\" parent=\"1\" source=\"r%d\" target=\"e%d\">"
+                    + "<mxGeometry relative=\"1\" as=\"geometry\"/></mxCell>", i, edgeStyle, i, next));
+            xml.append(String.format("<mxCell id=\"tl%d\" value=\"0..N\" style=\"%s\" vertex=\"1\" connectable=\"0\" parent=\"t%d\">"
+                    + "<mxGeometry relative=\"1\" as=\"geometry\"/></mxCell>", i, labelStyle, i));
+        }
+        xml.append("</root></mxGraphModel></diagram></mxfile>");
+        return xml.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
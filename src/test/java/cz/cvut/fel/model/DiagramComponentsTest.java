@@ -0,0 +1,95 @@
+package cz.cvut.fel.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Components of a synthetic 50k-vertex diagram, a short chain of entities and relationships
+ * comes first in diagram order, a long chain follows and isolated attributes close the diagram.
+ */
+class DiagramComponentsTest {
+    private static final int SHORT_CHAIN = 9_000;
+    private static final int LONG_CHAIN = 40_000;
+    private static final int ISOLATED = 1_000;
+
+    @Test
+    void largeDiagramComponents(){
+        Diagram diagram = largeDiagram();
+
+        DiagramComponents components = diagram.freeze().getComponents();
+
+        assertEquals(2 + ISOLATED, components.getComponentCount());
+        assertEquals(SHORT_CHAIN, components.getComponentSize(0));
+        assertEquals(LONG_CHAIN, components.getComponentSize(1));
+        for(int c = 2; c < components.getComponentCount(); c++){
+            assertEquals(1, components.getComponentSize(c));
+        }
+        assertEquals(components.getComponent(0), components.getComponent(SHORT_CHAIN - 1));
+        assertEquals(components.getComponent(SHORT_CHAIN), components.getComponent(SHORT_CHAIN + LONG_CHAIN - 1));
+        assertEquals("long0", components.getMembers(1).get(0).getId());
+    }
+
+    @Test
+    void largestComponentIsMain(){
+        Diagram diagram = largeDiagram();
+
+        DiagramComponents components = diagram.freeze().getComponents();
+        assertEquals(1, components.getLargestComponent());
+
+        List<Vertex> missing = diagram.getMissingVerticesFromMainComponent();
+        assertEquals(SHORT_CHAIN + ISOLATED, missing.size());
+        assertEquals("short0", missing.get(0).getId());
+        assertEquals("isolated" + (ISOLATED - 1), missing.get(missing.size() - 1).getId());
+    }
+
+    @Test
+    void earliestOfEquallyLargeComponentsIsMain(){
+        Diagram diagram = new Diagram();
+        addChain(diagram, "first", 10);
+        addChain(diagram, "second", 10);
+
+        assertEquals(0, diagram.freeze().getComponents().getLargestComponent());
+        assertEquals("second0", diagram.getMissingVerticesFromMainComponent().get(0).getId());
+    }
+
+    @Test
+    void emptyDiagramHasNoMainComponent(){
+        Diagram diagram = new Diagram();
+
+        assertEquals(0, diagram.freeze().getComponents().getComponentCount());
+        assertEquals(-1, diagram.freeze().getComponents().getLargestComponent());
+        assertTrue(diagram.getMissingVerticesFromMainComponent().isEmpty());
+    }
+
+    private static Diagram largeDiagram(){
+        Diagram diagram = new Diagram();
+        addChain(diagram, "short", SHORT_CHAIN);
+        addChain(diagram, "long", LONG_CHAIN);
+        for(int i = 0; i < ISOLATED; i++){
+            diagram.addVertex(new Attribute("isolated" + i, "isolated" + i, false));
+        }
+        return diagram;
+    }
+
+    /**
+     * Adds a chain of alternating entities and relationships connected by relationship edges
+     */
+    private static void addChain(Diagram diagram, String prefix, int length){
+        Vertex previous = null;
+        for(int i = 0; i < length; i++){
+            String id = prefix + i;
+            Vertex vertex = i % 2 == 0 ? new Entity(id, id) : new Relationship(id, id);
+            diagram.addVertex(vertex);
+            if(previous != null){
+                Edge edge = new Edge(id + "-edge", previous, vertex);
+                previous.addEdge(edge);
+                vertex.addEdge(edge);
+                diagram.addEdge(edge);
+            }
+            previous = vertex;
+        }
+    }
+}
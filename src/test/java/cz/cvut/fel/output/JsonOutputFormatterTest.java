@@ -0,0 +1,43 @@
+package cz.cvut.fel.output;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JSON string escaping of server responses
+ */
+class JsonOutputFormatterTest {
+
+    @Test
+    void escapesQuotesAndBackslashes(){
+        assertEquals("{\"error\":\"entity \\\"Person\\\" in C:\\\\diagrams\"}",
+                JsonOutputFormatter.stringifyError("entity \"Person\" in C:\\diagrams"));
+    }
+
+    @Test
+    void escapesWhitespaceAndControlCharacters(){
+        assertEquals("{\"error\":\"a\\nb\\rc\\td\\u0000e\\u001f\"}",
+                JsonOutputFormatter.stringifyError("a\nb\rc\td\u0000e\u001f"));
+    }
+
+    @Test
+    void keepsOtherCharacters(){
+        assertEquals("{\"error\":\"Číslo/účtu <ok> ✓\"}", JsonOutputFormatter.stringifyError("Číslo/účtu <ok> ✓"));
+    }
+
+    @Test
+    void writesNullAsJsonNull(){
+        assertEquals("{\"error\":null}", JsonOutputFormatter.stringifyError(null));
+        assertEquals("[\"a\",null]", JsonOutputFormatter.stringifyStrings(Arrays.asList("a", null)));
+    }
+
+    @Test
+    void listsStrings(){
+        assertEquals("[]", JsonOutputFormatter.stringifyStrings(List.of()));
+        assertEquals("[\"example\",\"my \\\"config\\\"\"]", JsonOutputFormatter.stringifyStrings(List.of("example", "my \"config\"")));
+    }
+}
@@ -0,0 +1,52 @@
+package cz.cvut.fel.parser;
+
+import cz.cvut.fel.model.Attribute;
+import cz.cvut.fel.model.Diagram;
+import cz.cvut.fel.model.Entity;
+import cz.cvut.fel.model.Key;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Underlined drawio attributes become keys of the entities they are connected to
+ */
+class DrawioKeysTest {
+
+    @Test
+    void underlinedAttributesAreEntityKeys() throws IOException, XMLStreamException{
+        Diagram diagram = parse("test_data_ER/drawio/account_correct_drawio.xml");
+
+        assertFalse(diagram.getEntities().isEmpty());
+        for(Entity entity : diagram.getEntities()){
+            assertTrue(entity.hasIdentifier(), entity.getName());
+            for(Key key : entity.getKeys()){
+                assertTrue(((Attribute) key).getIsKey(), entity.getName());
+            }
+        }
+    }
+
+    @Test
+    void personIsIdentifiedById() throws IOException, XMLStreamException{
+        Diagram diagram = parse("test_data_ER/drawio/account_correct_drawio.xml");
+
+        Entity person = diagram.getEntities().stream()
+                .filter(entity -> entity.getName().equals("Person"))
+                .findFirst().orElseThrow();
+        assertEquals(List.of("id"), person.getKeys().stream()
+                .map(key -> ((Attribute) key).getName())
+                .collect(Collectors.toList()));
+    }
+
+    private static Diagram parse(String resource) throws IOException, XMLStreamException{
+        try(InputStream input = TestResources.open(resource)){
+            return new XMLValidator(input).extractDiagram();
+        }
+    }
+}
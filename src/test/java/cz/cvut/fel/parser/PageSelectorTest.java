@@ -0,0 +1,51 @@
+package cz.cvut.fel.parser;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Page selectors given on the command line and in server requests
+ */
+class PageSelectorTest {
+
+    @Test
+    void numbersAreIndexes(){
+        PageSelector selector = PageSelector.parse("2");
+
+        assertTrue(selector.test(2, "Page-3"));
+        assertFalse(selector.test(0, "2"));
+    }
+
+    @Test
+    void textIsName(){
+        PageSelector selector = PageSelector.parse(" Sales ");
+
+        assertTrue(selector.test(4, "Sales"));
+        assertFalse(selector.test(0, "Page-1"));
+    }
+
+    @Test
+    void namePrefixSelectsPagesNamedByNumber(){
+        PageSelector selector = PageSelector.parse("name:2");
+
+        assertTrue(selector.test(0, "2"));
+        assertFalse(selector.test(2, "Page-3"));
+        assertFalse(selector.isExhausted(2));
+    }
+
+    @Test
+    void indexPrefixSelectsByIndex(){
+        PageSelector selector = PageSelector.parse("index:1");
+
+        assertTrue(selector.test(1, "index:1"));
+        assertFalse(selector.test(0, "index:1"));
+        assertTrue(selector.isExhausted(1));
+    }
+
+    @Test
+    void rejectsIndexThatIsNotNumber(){
+        assertThrows(IllegalArgumentException.class, () -> PageSelector.parse("index:first"));
+        assertThrows(IllegalArgumentException.class, () -> PageSelector.parse("index:-1"));
+    }
+}
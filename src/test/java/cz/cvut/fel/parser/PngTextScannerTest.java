@@ -0,0 +1,92 @@
+package cz.cvut.fel.parser;
+
+import cz.cvut.fel.model.Diagram;
+import cz.cvut.fel.output.DiagramOutputFormatter;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Diagrams embedded in PNG images exported by app.diagrams.net
+ */
+class PngTextScannerTest {
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    @Test
+    void exportedImageHoldsTheSameDiagram() throws IOException, XMLStreamException{
+        Diagram embedded = parse(TestResources.open("diagrams/account.drawio.png"));
+        Diagram original = parse(TestResources.open("test_data_ER/drawio/account_correct_drawio.xml"));
+
+        assertEquals(DiagramOutputFormatter.stringifyDiagram(original), DiagramOutputFormatter.stringifyDiagram(embedded));
+    }
+
+    @Test
+    void recognisesSignature() throws IOException{
+        try(InputStream image = new BufferedInputStream(TestResources.open("diagrams/account.drawio.png"))){
+            assertTrue(PngTextScanner.isPng(image));
+            assertTrue(PngTextScanner.isPng(image), "signature is not consumed");
+        }
+        assertFalse(PngTextScanner.isPng(new BufferedInputStream(
+                new ByteArrayInputStream("<mxfile/>".getBytes(StandardCharsets.UTF_8)))));
+    }
+
+    @Test
+    void rejectsOversizedTextChunkBeforeReadingIt(){
+        ByteArrayOutputStream image = new ByteArrayOutputStream();
+        image.writeBytes(SIGNATURE);
+        image.writeBytes(ByteBuffer.allocate(8).putInt(Integer.MAX_VALUE - 15).put("tEXt".getBytes(StandardCharsets.US_ASCII)).array());
+        image.writeBytes("mxf".getBytes(StandardCharsets.US_ASCII));
+
+        IOException ex = assertThrows(IOException.class,
+                () -> PngTextScanner.extractDiagram(new ByteArrayInputStream(image.toByteArray())));
+        assertTrue(ex.getMessage().contains("exceeds"), ex.getMessage());
+    }
+
+    @Test
+    void rejectsImageWithoutDiagram(){
+        ByteArrayOutputStream image = new ByteArrayOutputStream();
+        image.writeBytes(SIGNATURE);
+        image.writeBytes(chunk("IHDR", new byte[13]));
+        image.writeBytes(chunk("tEXt", "Software\0app.diagrams.net".getBytes(StandardCharsets.ISO_8859_1)));
+        image.writeBytes(chunk("IEND", new byte[0]));
+
+        IOException ex = assertThrows(IOException.class,
+                () -> PngTextScanner.extractDiagram(new ByteArrayInputStream(image.toByteArray())));
+        assertEquals("PNG image does not contain a diagram", ex.getMessage());
+    }
+
+    @Test
+    void rejectsTruncatedImage(){
+        byte[] image = new byte[SIGNATURE.length + 4];
+        System.arraycopy(SIGNATURE, 0, image, 0, SIGNATURE.length);
+
+        assertThrows(IOException.class, () -> PngTextScanner.extractDiagram(new ByteArrayInputStream(image)));
+    }
+
+    private static Diagram parse(InputStream input) throws IOException, XMLStreamException{
+        return new XMLValidator(input).extractDiagram();
+    }
+
+    private static byte[] chunk(String type, byte[] data){
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data);
+        return ByteBuffer.allocate(12 + data.length)
+                .putInt(data.length)
+                .put(typeBytes)
+                .put(data)
+                .putInt((int) crc.getValue())
+                .array();
+    }
+}
@@ -0,0 +1,53 @@
+package cz.cvut.fel.parser;
+
+import cz.cvut.fel.exception.CorruptedXmlException;
+import cz.cvut.fel.model.Diagram;
+import cz.cvut.fel.output.DiagramOutputFormatter;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Diagrams embedded in SVG images exported by app.diagrams.net
+ */
+class SvgContainerParserTest {
+
+    @Test
+    void exportedImageHoldsTheSameDiagram() throws IOException, XMLStreamException{
+        Diagram embedded = new XMLValidator(TestResources.open("diagrams/account.drawio.svg")).extractDiagram();
+        Diagram original = new XMLValidator(TestResources.open("test_data_ER/drawio/account_correct_drawio.xml")).extractDiagram();
+
+        assertEquals(DiagramOutputFormatter.stringifyDiagram(original), DiagramOutputFormatter.stringifyDiagram(embedded));
+    }
+
+    @Test
+    void selectsPagesOfEmbeddedDiagram() throws IOException, XMLStreamException{
+        assertEquals(1, new XMLValidator(TestResources.open("diagrams/account.drawio.svg"))
+                .extractPages(PageSelector.all()).size());
+        assertTrue(new XMLValidator(TestResources.open("diagrams/account.drawio.svg"))
+                .extractPages(PageSelector.byIndex(1)).isEmpty());
+    }
+
+    @Test
+    void rejectsImageWithoutDiagram() throws XMLStreamException{
+        XMLStreamReader reader = StreamReaderFactory.createReader(
+                new StringReader("<svg xmlns=\"http://www.w3.org/2000/svg\" content=\" \"><g/></svg>"));
+
+        CorruptedXmlException ex = assertThrows(CorruptedXmlException.class,
+                () -> new SvgContainerParser().parse(reader));
+        assertEquals("SVG image does not contain a diagram", ex.getMessage());
+    }
+
+    @Test
+    void rejectsUnsupportedEmbeddedFormat() throws XMLStreamException{
+        XMLStreamReader reader = StreamReaderFactory.createReader(
+                new StringReader("<svg xmlns=\"http://www.w3.org/2000/svg\" content=\"&lt;html/&gt;\"><g/></svg>"));
+
+        assertThrows(CorruptedXmlException.class, () -> new SvgContainerParser().parse(reader));
+    }
+}
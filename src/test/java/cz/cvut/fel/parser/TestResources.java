@@ -0,0 +1,21 @@
+package cz.cvut.fel.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * Opens bundled diagrams and test fixtures from the class path
+ */
+final class TestResources {
+    private TestResources(){
+    }
+
+    static InputStream open(String name) throws IOException{
+        InputStream input = TestResources.class.getClassLoader().getResourceAsStream(name);
+        if(Objects.isNull(input)){
+            throw new IOException(String.format("Resource %s not found", name));
+        }
+        return input;
+    }
+}
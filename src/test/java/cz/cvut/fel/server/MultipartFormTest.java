@@ -0,0 +1,103 @@
+package cz.cvut.fel.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Multipart forms as sent by browsers and curl
+ */
+class MultipartFormTest {
+    private static final String BOUNDARY = "----form7MA4YWxkTrZu0gW";
+
+    @Test
+    void recognisesMultipartContentType(){
+        assertTrue(MultipartForm.isMultipart("multipart/form-data; boundary=" + BOUNDARY));
+        assertTrue(MultipartForm.isMultipart("Multipart/Form-Data; boundary=" + BOUNDARY));
+        assertFalse(MultipartForm.isMultipart("application/xml"));
+        assertFalse(MultipartForm.isMultipart(null));
+    }
+
+    @Test
+    void readsNamedParts(){
+        MultipartForm form = MultipartForm.parse(body(BOUNDARY,
+                part("diagram", "account.xml", "<mxGraphModel/>"),
+                part("config", null, "MIN_ENTITIES=1\r\n")), contentType(BOUNDARY));
+
+        assertEquals("<mxGraphModel/>", text(form.get("diagram")));
+        assertEquals("MIN_ENTITIES=1\r\n", text(form.get("config")));
+    }
+
+    @Test
+    void readsQuotedBoundaryFollowedByParameters(){
+        String boundary = "quoted boundary";
+        MultipartForm form = MultipartForm.parse(body(boundary, part("diagram", null, "x")),
+                "multipart/form-data; boundary=\"" + boundary + "\"; charset=utf-8");
+
+        assertEquals("x", text(form.get("diagram")));
+    }
+
+    @Test
+    void keepsBoundaryLookalikesInContent(){
+        String content = "--" + BOUNDARY.substring(0, 10) + "\r\nnot a delimiter\r\n";
+        MultipartForm form = MultipartForm.parse(body(BOUNDARY, part("diagram", null, content)), contentType(BOUNDARY));
+
+        assertEquals(content, text(form.get("diagram")));
+    }
+
+    @Test
+    void readsEmptyPart(){
+        MultipartForm form = MultipartForm.parse(body(BOUNDARY, part("diagram", null, "")), contentType(BOUNDARY));
+
+        assertArrayEquals(new byte[0], form.get("diagram"));
+    }
+
+    @Test
+    void missingDiagramPartIsNull(){
+        MultipartForm form = MultipartForm.parse(body(BOUNDARY, part("config", null, "MIN_ENTITIES=1")), contentType(BOUNDARY));
+
+        assertNull(form.get("diagram"));
+    }
+
+    @Test
+    void rejectsMalformedBodies(){
+        assertThrows(IllegalArgumentException.class,
+                () -> MultipartForm.parse(bytes("irrelevant"), "multipart/form-data"));
+        assertThrows(IllegalArgumentException.class,
+                () -> MultipartForm.parse(bytes("no delimiter at all"), contentType(BOUNDARY)));
+        assertThrows(IllegalArgumentException.class,
+                () -> MultipartForm.parse(bytes("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"diagram\""),
+                        contentType(BOUNDARY)));
+        assertThrows(IllegalArgumentException.class,
+                () -> MultipartForm.parse(bytes("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"diagram\"\r\n\r\nx"),
+                        contentType(BOUNDARY)));
+    }
+
+    private static String contentType(String boundary){
+        return "multipart/form-data; boundary=" + boundary;
+    }
+
+    private static String part(String name, String fileName, String content){
+        String disposition = "Content-Disposition: form-data; name=\"" + name + "\""
+                + (fileName == null ? "" : "; filename=\"" + fileName + "\"");
+        return disposition + "\r\nContent-Type: text/plain\r\n\r\n" + content;
+    }
+
+    private static byte[] body(String boundary, String... parts){
+        StringBuilder body = new StringBuilder();
+        for(String part : parts){
+            body.append("--").append(boundary).append("\r\n").append(part).append("\r\n");
+        }
+        return bytes(body.append("--").append(boundary).append("--\r\n").toString());
+    }
+
+    private static byte[] bytes(String text){
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] data){
+        return new String(data, StandardCharsets.UTF_8);
+    }
+}